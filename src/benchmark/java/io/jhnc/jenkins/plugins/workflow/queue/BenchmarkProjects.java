@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.scm.NullSCM;
+import jenkins.branch.Branch;
+import jenkins.scm.api.SCMHead;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+final class BenchmarkProjects {
+    private BenchmarkProjects() {
+    }
+
+    @NonNull
+    static List<WorkflowJob> createBranches(@NonNull WorkflowMultiBranchProject project, int count, @NonNull IntPredicate blocked)
+            throws IOException {
+        for (int i = 0; i < count; ++i) {
+            final WorkflowJob job = project.getProjectFactory().newInstance(
+                    new Branch("source", new SCMHead("branch-" + i), new NullSCM(), Collections.emptyList()));
+            Files.createDirectories(job.getRootDir().toPath());
+
+            if (blocked.test(i)) {
+                job.addProperty(new JobBlockedProperty());
+            }
+            job.save();
+        }
+        project.doReload();
+        final List<WorkflowJob> jobs = new ArrayList<>(project.getItems());
+
+        if (jobs.size() != count) {
+            throw new IllegalStateException("Expected " + count + " branches in " + project.getFullName() + ", found " + jobs.size());
+        }
+        return jobs;
+    }
+}
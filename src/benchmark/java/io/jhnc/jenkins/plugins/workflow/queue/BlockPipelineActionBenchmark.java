@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@JmhBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BlockPipelineActionBenchmark {
+
+    @Benchmark
+    public void blockAndUnblockProject(ActionState state) throws IOException {
+        state.action.addBlockProperty(new ProjectBlockedProperty("benchmark", "benchmark"));
+        state.action.removeBlockProperty();
+    }
+
+    @Benchmark
+    public void blockAndUnblockAllJobs(ActionState state) throws IOException {
+        for (final WorkflowJob job : state.jobs) {
+            state.action.addBlockPropertyToJob(job);
+        }
+        for (final WorkflowJob job : state.jobs) {
+            state.action.removeBlockPropertyFromJob(job);
+        }
+    }
+
+
+    public static class ActionState extends JmhBenchmarkState {
+        @Param({"10", "100", "1000"})
+        public int jobCount;
+        private final List<WorkflowJob> jobs = new ArrayList<>();
+        private BlockPipelineAction action;
+
+        @Override
+        public void setup() throws Exception {
+            final WorkflowMultiBranchProject project = getJenkins().createProject(WorkflowMultiBranchProject.class, "project");
+
+            jobs.addAll(BenchmarkProjects.createBranches(project, jobCount, i -> false));
+            BlockIndex.get().rebuild();
+            action = new BlockPipelineAction(project);
+        }
+    }
+}
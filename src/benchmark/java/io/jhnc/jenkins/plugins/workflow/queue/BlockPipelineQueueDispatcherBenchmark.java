@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Queue;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+
+@JmhBenchmark
+public class BlockPipelineQueueDispatcherBenchmark {
+    private static final int PROJECTS = 20;
+    private static final int JOBS_PER_PROJECT = 50;
+    private static final int ITEMS = PROJECTS * (JOBS_PER_PROJECT + 2);
+
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(ITEMS)
+    public void canRun(DispatcherState state, Blackhole blackhole) {
+        for (final Queue.Item item : state.items) {
+            blackhole.consume(state.dispatcher.canRun(item));
+        }
+    }
+
+
+    public static class DispatcherState extends JmhBenchmarkState {
+        @Param({"0", "10", "50", "100"})
+        public int blockedPercent;
+        private final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        private Queue.Item[] items;
+
+        @Override
+        public void setup() throws Exception {
+            final Jenkins jenkins = getJenkins();
+            final Random random = new Random(42);
+            final List<Queue.Item> result = new ArrayList<>(ITEMS);
+            final List<WorkflowMultiBranchProject> projects = new ArrayList<>(PROJECTS);
+            final AtomicInteger expected = new AtomicInteger();
+
+            for (int p = 0; p < PROJECTS; ++p) {
+                final WorkflowMultiBranchProject project = jenkins.createProject(WorkflowMultiBranchProject.class, "project-" + p);
+                final List<WorkflowJob> jobs = BenchmarkProjects.createBranches(project, JOBS_PER_PROJECT, j -> {
+                    final boolean blocked = random.nextInt(100) < blockedPercent;
+                    if (blocked) {
+                        expected.incrementAndGet();
+                    }
+                    return blocked;
+                });
+
+                for (final WorkflowJob job : jobs) {
+                    result.add(createItem(job));
+                }
+                projects.add(project);
+                result.add(createItem(jenkins.createProject(FreeStyleProject.class, "freestyle-" + p)));
+                result.add(createItem(mock(Queue.Task.class)));
+            }
+
+            final BlockIndex index = BlockIndex.get();
+            index.rebuild();
+            final int blocked = projects.stream().mapToInt(project -> index.getBlockedJobs(project).size()).sum();
+
+            if (blocked != expected.get()) {
+                throw new IllegalStateException("Expected " + expected.get() + " blocked branches, the index has " + blocked);
+            }
+            Collections.shuffle(result, random);
+            items = result.toArray(new Queue.Item[0]);
+        }
+
+        private static Queue.Item createItem(Queue.Task task) {
+            return new Queue.WaitingItem(Calendar.getInstance(), task, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Action;
+import hudson.model.Item;
+import hudson.model.User;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.security.Permission;
+import hudson.util.FormApply;
+import hudson.util.HttpResponses;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerProxy;
+import org.kohsuke.stapler.StaplerRequest2;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+public abstract class AbstractBlockAction implements Action, StaplerProxy {
+    protected static final Permission PERMISSION = Item.CONFIGURE;
+    protected final BlockIndex index;
+    protected final BlockOperationQueue operations;
+    private final AbstractFolder<?> folder;
+
+    protected AbstractBlockAction(@NonNull AbstractFolder<?> folder, @NonNull BlockIndex index, @NonNull BlockOperationQueue operations) {
+        this.folder = folder;
+        this.index = index;
+        this.operations = operations;
+    }
+
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return folder.hasPermission(PERMISSION) ? "/plugin/jenkins-workflow-extensions/images/lock.svg" : null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Block";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return "block";
+    }
+
+    @Override
+    public Object getTarget() {
+        checkPermission();
+        return this;
+    }
+
+    public boolean isBlocked() {
+        return getProperty() != null;
+    }
+
+    @CheckForNull
+    public String getMessage() {
+        return valueOrNull(ProjectBlockedProperty::getMessage);
+    }
+
+    @CheckForNull
+    public Date getTimestamp() {
+        return valueOrNull(ProjectBlockedProperty::getTimestamp);
+    }
+
+    @CheckForNull
+    public Date getExpiryDate() {
+        return valueOrNull(ProjectBlockedProperty::getExpiryDate);
+    }
+
+    @CheckForNull
+    public String getUserName() {
+        return valueOrNull(ProjectBlockedProperty::getUser);
+    }
+
+    @CheckForNull
+    public String getInheritedBlock() {
+        final CauseOfBlockage cause = index.getInheritedCause(folder);
+        return cause == null ? null : cause.getShortDescription();
+    }
+
+    @CheckForNull
+    public ScheduledBlock getScheduledBlock() {
+        return index.getScheduledBlock(folder.getFullName());
+    }
+
+    @NonNull
+    public List<BlockOperation> getPendingOperations() {
+        return operations.getPendingOperations(folder.getFullName());
+    }
+
+    public HttpResponse doOperation(@QueryParameter long id) {
+        checkPermission();
+        final BlockOperation operation = operations.getOperation(id);
+
+        if (operation == null || !operation.getProject().equals(folder.getFullName())) {
+            return HttpResponses.notFound();
+        }
+        return HttpResponses.okJSON(operation.toJSON());
+    }
+
+    public HttpResponse doHistory(@QueryParameter int limit) {
+        checkPermission();
+        final String name = folder.getFullName();
+        final JSONArray events = new JSONArray();
+
+        for (final BlockEvent event : BlockAudit.get().getEvents(e -> e.isWithin(name), limit > 0 ? limit : Integer.MAX_VALUE)) {
+            events.add(event.toJSON());
+        }
+        return HttpResponses.okJSON(new JSONObject().element("events", events));
+    }
+
+    @NonNull
+    protected User getCurrentUser() {
+        final User current = User.current();
+        return current == null ? User.getUnknown() : current;
+    }
+
+    protected void checkPermission() {
+        folder.checkPermission(PERMISSION);
+    }
+
+    @NonNull
+    protected HttpResponse submit(@NonNull StaplerRequest2 req, @NonNull String name, @NonNull BlockOperation.Task task) {
+        final BlockOperation operation;
+
+        try {
+            operation = operations.submit(folder.getFullName(), name, task);
+        } catch (RejectedExecutionException e) {
+            return HttpResponses.errorWithoutStack(503, e.getMessage());
+        }
+
+        if (acceptsJson(req)) {
+            return HttpResponses.okJSON(operation.toJSON());
+        }
+        return FormApply.success(".");
+    }
+
+    @CheckForNull
+    protected static Long parseExpiry(@CheckForNull String minutes, long current) {
+        try {
+            return BlockExpiry.parse(minutes, current, System.currentTimeMillis());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    protected static HttpResponse invalidExpiry() {
+        return HttpResponses.errorWithoutStack(400, "Invalid expiry");
+    }
+
+    protected static void audit(@NonNull BlockEvent.Type type, @NonNull String fullName, @CheckForNull String message, int jobs) {
+        BlockAudit.get().record(new BlockEvent(System.currentTimeMillis(), type, fullName, Jenkins.getAuthentication2().getName(), message, jobs));
+    }
+
+    protected static boolean acceptsJson(@NonNull StaplerRequest2 req) {
+        final String accept = req.getHeader("Accept");
+        return accept != null && accept.contains("application/json");
+    }
+
+    @CheckForNull
+    protected ProjectBlockedProperty getProperty() {
+        return folder.getProperties().get(ProjectBlockedProperty.class);
+    }
+
+    @CheckForNull
+    protected <T> T valueOrNull(@NonNull Function<ProjectBlockedProperty, T> supplier) {
+        final ProjectBlockedProperty property = getProperty();
+        return property == null ? null : supplier.apply(property);
+    }
+}
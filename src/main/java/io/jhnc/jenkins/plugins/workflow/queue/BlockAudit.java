@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BlockAudit {
+    private static final Logger LOGGER = Logger.getLogger(BlockAudit.class.getName());
+    private static final int CAPACITY = Integer.getInteger(BlockAudit.class.getName() + ".capacity", 500);
+    private static final long MAX_SIZE = Long.getLong(BlockAudit.class.getName() + ".maxSize", 1024L * 1024L);
+    private static final int FILES = Integer.getInteger(BlockAudit.class.getName() + ".files", 5);
+    private static final String FILE_NAME = "pipeline-blocks.log";
+    private static final BlockAudit INSTANCE = new BlockAudit(Executors.newSingleThreadExecutor(
+            new NamingThreadFactory(new DaemonThreadFactory(), BlockAudit.class.getSimpleName())), null, CAPACITY, MAX_SIZE, FILES,
+            event -> BlockEventStream.get().publish(event));
+    private final Executor writer;
+    private final File directory;
+    private final int capacity;
+    private final long maxSize;
+    private final int files;
+    private final Consumer<BlockEvent> listener;
+    private final Deque<BlockEvent> history = new ArrayDeque<>();
+
+    BlockAudit(@NonNull Executor writer, @CheckForNull File directory, int capacity, long maxSize, int files) {
+        this(writer, directory, capacity, maxSize, files, event -> {
+        });
+    }
+
+    BlockAudit(@NonNull Executor writer, @CheckForNull File directory, int capacity, long maxSize, int files,
+               @NonNull Consumer<BlockEvent> listener) {
+        this.writer = writer;
+        this.directory = directory;
+        this.capacity = capacity;
+        this.maxSize = maxSize;
+        this.files = files;
+        this.listener = listener;
+    }
+
+    @NonNull
+    public static BlockAudit get() {
+        return INSTANCE;
+    }
+
+    public void record(@NonNull BlockEvent event) {
+        synchronized (history) {
+            history.addFirst(event);
+
+            while (history.size() > capacity) {
+                history.removeLast();
+            }
+        }
+        final File dir = getDirectory();
+
+        if (dir != null) {
+            writer.execute(() -> append(dir.toPath().resolve(FILE_NAME), event));
+        }
+        listener.accept(event);
+    }
+
+    @NonNull
+    public List<BlockEvent> getEvents(@NonNull Predicate<BlockEvent> filter, int limit) {
+        final List<BlockEvent> events = new ArrayList<>();
+
+        synchronized (history) {
+            final Iterator<BlockEvent> it = history.iterator();
+
+            while (it.hasNext() && events.size() < limit) {
+                final BlockEvent event = it.next();
+
+                if (filter.test(event)) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    @CheckForNull
+    private File getDirectory() {
+        if (directory != null) {
+            return directory;
+        }
+        final Jenkins jenkins = Jenkins.getInstanceOrNull();
+        return jenkins == null ? null : new File(jenkins.getRootDir(), "logs");
+    }
+
+    private void append(@NonNull Path file, @NonNull BlockEvent event) {
+        final String line = event.toJSON().toString() + "\n";
+
+        try {
+            Files.createDirectories(file.getParent());
+
+            if (Files.exists(file) && Files.size(file) + line.length() > maxSize) {
+                rotate(file);
+            }
+
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(line);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the block audit log " + file, e);
+        }
+    }
+
+    private void rotate(@NonNull Path file) throws IOException {
+        Files.deleteIfExists(rotated(file, files));
+
+        for (int i = files - 1; i >= 1; --i) {
+            final Path source = rotated(file, i);
+
+            if (Files.exists(source)) {
+                Files.move(source, rotated(file, i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(file, 1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @NonNull
+    private static Path rotated(@NonNull Path file, int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
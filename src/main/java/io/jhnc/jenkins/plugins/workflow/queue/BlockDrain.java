@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.queue.CauseOfBlockage;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BlockDrain {
+    private static final long GRACE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private final int total;
+    private final int ratePerMinute;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final long deadline;
+    private final Set<Long> released = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextRelease;
+    private final AtomicLong wakeup = new AtomicLong();
+    private final CauseOfBlockage cause = new DrainCause();
+
+    BlockDrain(int total, int ratePerMinute, long startNanos) {
+        this.total = total;
+        this.ratePerMinute = ratePerMinute;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / ratePerMinute;
+        this.burstNanos = Math.max(0, BURST_NANOS - intervalNanos);
+        this.deadline = startNanos + 2 * intervalNanos * total + GRACE_NANOS;
+        this.nextRelease = new AtomicLong(startNanos);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getReleased() {
+        return Math.min(released.size(), total);
+    }
+
+    public int getRatePerMinute() {
+        return ratePerMinute;
+    }
+
+    public boolean isDone(long nanos) {
+        return released.size() >= total || nanos - deadline >= 0;
+    }
+
+    @NonNull
+    CauseOfBlockage getCause() {
+        return cause;
+    }
+
+    boolean tryRelease(long itemId, long nanos) {
+        if (released.contains(itemId) || isDone(nanos)) {
+            return true;
+        }
+        for (long next = nextRelease.get(); nanos - next >= 0; next = nextRelease.get()) {
+            final long base = next - (nanos - burstNanos) >= 0 ? next : nanos - burstNanos;
+
+            if (nextRelease.compareAndSet(next, base + intervalNanos)) {
+                released.add(itemId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long getNextRelease() {
+        return nextRelease.get();
+    }
+
+    boolean claimWakeup(long nanos) {
+        return wakeup.getAndSet(nanos) != nanos;
+    }
+
+
+    private final class DrainCause extends CauseOfBlockage {
+        @Override
+        public String getShortDescription() {
+            return Messages.BlockDrain_shortDescription(getReleased(), total);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import net.sf.json.JSONObject;
+
+import java.util.Date;
+import java.util.Objects;
+
+public class BlockEvent {
+    private final long timestamp;
+    private final Type type;
+    private final String fullName;
+    private final String user;
+    private final String message;
+    private final int jobs;
+
+    public BlockEvent(long timestamp, @NonNull Type type, @CheckForNull String fullName, @CheckForNull String user,
+                      @CheckForNull String message, int jobs) {
+        this.timestamp = timestamp;
+        this.type = type;
+        this.fullName = Objects.requireNonNullElse(fullName, "");
+        this.user = Objects.requireNonNullElse(user, "");
+        this.message = Objects.requireNonNullElse(message, "");
+        this.jobs = jobs;
+    }
+
+    @NonNull
+    public Date getTimestamp() {
+        return new Date(timestamp);
+    }
+
+    @NonNull
+    public Type getType() {
+        return type;
+    }
+
+    @NonNull
+    public String getFullName() {
+        return fullName;
+    }
+
+    @NonNull
+    public String getUser() {
+        return user;
+    }
+
+    @NonNull
+    public String getMessage() {
+        return message;
+    }
+
+    public int getJobs() {
+        return jobs;
+    }
+
+    public boolean isWithin(@NonNull String project) {
+        return fullName.equals(project) || fullName.startsWith(project + "/");
+    }
+
+    @NonNull
+    public JSONObject toJSON() {
+        return new JSONObject()
+                .element("timestamp", timestamp)
+                .element("type", type.name())
+                .element("name", fullName)
+                .element("user", user)
+                .element("message", message)
+                .element("jobs", jobs);
+    }
+
+
+    public enum Type {
+        BLOCK, UNBLOCK, BLOCK_JOB, UNBLOCK_JOB, EXPIRE, EXPIRE_JOB, SCHEDULE_START, SCHEDULE_END, FREEZE, UNFREEZE
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.PeriodicWork;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jenkins.util.Timer;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BlockEventStream {
+    private static final Logger LOGGER = Logger.getLogger(BlockEventStream.class.getName());
+    private static final int HISTORY = Integer.getInteger(BlockEventStream.class.getName() + ".history", 1000);
+    private static final int QUEUE_SIZE = Integer.getInteger(BlockEventStream.class.getName() + ".queueSize", 100);
+    private static final int MAX_SUBSCRIBERS = Integer.getInteger(BlockEventStream.class.getName() + ".maxSubscribers", 1000);
+    private static final byte[] HEARTBEAT = ": keepalive\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESET = "event: reset\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final BlockEventStream INSTANCE = new BlockEventStream(r -> Timer.get().execute(r), HISTORY, QUEUE_SIZE, MAX_SUBSCRIBERS,
+            System.currentTimeMillis());
+    private final Executor executor;
+    private final int queueSize;
+    private final int maxSubscribers;
+    private final Deque<Entry> history = new ArrayDeque<>();
+    private final int historySize;
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+    private long sequence;
+
+    BlockEventStream(@NonNull Executor executor, int historySize, int queueSize, int maxSubscribers, long firstId) {
+        this.executor = executor;
+        this.historySize = historySize;
+        this.queueSize = queueSize;
+        this.maxSubscribers = maxSubscribers;
+        this.sequence = firstId;
+    }
+
+    @NonNull
+    public static BlockEventStream get() {
+        return INSTANCE;
+    }
+
+    public void publish(@NonNull BlockEvent event) {
+        final List<Subscriber> ready = new ArrayList<>();
+
+        synchronized (history) {
+            final Entry entry = new Entry(++sequence, event);
+            history.addLast(entry);
+
+            while (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (final Subscriber subscriber : subscribers) {
+                if (subscriber.filter.test(event)) {
+                    offer(subscriber, entry.data, ready);
+                }
+            }
+        }
+        drain(ready);
+    }
+
+    public void subscribe(@NonNull StaplerRequest2 req, @NonNull StaplerResponse2 rsp, @NonNull Predicate<BlockEvent> filter)
+            throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            rsp.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many event stream subscribers");
+            return;
+        }
+        rsp.setStatus(HttpServletResponse.SC_OK);
+        rsp.setContentType("text/event-stream;charset=UTF-8");
+        rsp.setHeader("Cache-Control", "no-cache");
+        rsp.setHeader("X-Accel-Buffering", "no");
+
+        final AsyncContext async = req.startAsync();
+        async.setTimeout(0);
+        final Subscriber subscriber = new Subscriber(this, async, rsp.getOutputStream(), filter, queueSize);
+        async.addListener(subscriber);
+        subscriber.output.setWriteListener(subscriber);
+        register(subscriber, parseId(req.getHeader("Last-Event-ID"), req.getParameter("lastEventId")));
+        executor.execute(subscriber::drainQuietly);
+    }
+
+    public void heartbeat() {
+        final List<Subscriber> ready = new ArrayList<>();
+
+        for (final Subscriber subscriber : subscribers) {
+            offer(subscriber, HEARTBEAT, ready);
+        }
+        drain(ready);
+    }
+
+    int getSubscribers() {
+        return subscribers.size();
+    }
+
+    void register(@NonNull Subscriber subscriber, long lastEventId) {
+        synchronized (history) {
+            if (lastEventId >= 0) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+    }
+
+    void unsubscribe(@NonNull Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void replay(@NonNull Subscriber subscriber, long lastEventId) {
+        final Entry oldest = history.peekFirst();
+
+        if (lastEventId > sequence || (oldest == null ? lastEventId < sequence : lastEventId < oldest.id - 1)) {
+            subscriber.offer(RESET);
+            return;
+        }
+        for (final Entry entry : history) {
+            if (entry.id > lastEventId && subscriber.filter.test(entry.event) && !subscriber.offer(entry.data)) {
+                subscriber.offer(RESET);
+                return;
+            }
+        }
+    }
+
+    private void offer(@NonNull Subscriber subscriber, @NonNull byte[] data, @NonNull List<Subscriber> ready) {
+        if (subscriber.offer(data)) {
+            ready.add(subscriber);
+        } else {
+            LOGGER.log(Level.FINE, "Closing slow block event stream subscriber");
+            unsubscribe(subscriber);
+            subscriber.close();
+        }
+    }
+
+    private void drain(@NonNull List<Subscriber> ready) {
+        for (final Subscriber subscriber : ready) {
+            executor.execute(subscriber::drainQuietly);
+        }
+    }
+
+    static long parseId(@CheckForNull String header, @CheckForNull String parameter) {
+        final String value = header != null ? header : parameter;
+
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+
+        try {
+            return Math.max(-1, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @NonNull
+    static byte[] format(long id, @NonNull BlockEvent event) {
+        return ("id: " + id + "\nevent: " + event.getType().name().toLowerCase(Locale.ROOT) + "\ndata: " + event.toJSON() + "\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+
+    private static final class Entry {
+        private final long id;
+        private final BlockEvent event;
+        private final byte[] data;
+
+        private Entry(long id, @NonNull BlockEvent event) {
+            this.id = id;
+            this.event = event;
+            this.data = format(id, event);
+        }
+    }
+
+    static final class Subscriber implements WriteListener, AsyncListener {
+        private final BlockEventStream stream;
+        private final AsyncContext async;
+        private final ServletOutputStream output;
+        private final Predicate<BlockEvent> filter;
+        private final int capacity;
+        private final Deque<byte[]> queue = new ArrayDeque<>();
+        private boolean flush = true;
+        private boolean closed;
+
+        Subscriber(@NonNull BlockEventStream stream, @NonNull AsyncContext async, @NonNull ServletOutputStream output,
+                   @NonNull Predicate<BlockEvent> filter, int capacity) {
+            this.stream = stream;
+            this.async = async;
+            this.output = output;
+            this.filter = filter;
+            this.capacity = capacity;
+        }
+
+        synchronized boolean offer(@NonNull byte[] data) {
+            if (closed || queue.size() >= capacity) {
+                return false;
+            }
+            queue.addLast(data);
+            return true;
+        }
+
+        synchronized int getQueued() {
+            return queue.size();
+        }
+
+        @Override
+        public synchronized void onWritePossible() throws IOException {
+            while (!closed && output.isReady()) {
+                final byte[] data = queue.pollFirst();
+
+                if (data == null) {
+                    if (flush) {
+                        flush = false;
+                        output.flush();
+                        continue;
+                    }
+                    return;
+                }
+                output.write(data);
+                flush = true;
+            }
+        }
+
+        void drainQuietly() {
+            try {
+                onWritePossible();
+            } catch (IOException e) {
+                onError(e);
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+            }
+
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                LOGGER.log(Level.FINE, "Block event stream already completed", e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            LOGGER.log(Level.FINE, "Block event stream subscriber failed", t);
+            stream.unsubscribe(this);
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            stream.unsubscribe(this);
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            stream.unsubscribe(this);
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            onError(event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+
+    @Extension
+    public static class Heartbeat extends PeriodicWork {
+        @Override
+        public long getRecurrencePeriod() {
+            return TimeUnit.SECONDS.toMillis(30);
+        }
+
+        @Override
+        protected void doRun() {
+            get().heartbeat();
+        }
+    }
+}
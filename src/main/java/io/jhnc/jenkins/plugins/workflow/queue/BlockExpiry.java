@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+import hudson.model.Job;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BlockExpiry {
+    private static final Logger LOGGER = Logger.getLogger(BlockExpiry.class.getName());
+    private final ConcurrentMap<String, Expiration> pending = new ConcurrentHashMap<>();
+
+    static long parse(@CheckForNull String minutes, long current, long now) {
+        final String value = Util.fixEmptyAndTrim(minutes);
+
+        if (value == null) {
+            return current;
+        }
+        final int expiresIn = Integer.parseInt(value);
+
+        if (expiresIn < 0) {
+            throw new NumberFormatException("Negative expiry: " + expiresIn);
+        }
+        return expiresIn > 0 ? now + TimeUnit.MINUTES.toMillis(expiresIn) : 0;
+    }
+
+    public void update(@NonNull String fullName, boolean job, long expiresAt) {
+        if (expiresAt <= 0) {
+            cancel(fullName);
+            return;
+        }
+        final Expiration current = pending.get(fullName);
+
+        if (current != null && current.expiresAt == expiresAt) {
+            return;
+        }
+        final Expiration expiration = new Expiration(fullName, job, expiresAt);
+        final Expiration previous = pending.put(fullName, expiration);
+
+        if (previous != null && previous.future != null) {
+            previous.future.cancel(false);
+        }
+        expiration.future = Timer.get().schedule(() -> expire(expiration),
+                Math.max(0, expiresAt - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    public void cancel(@NonNull String fullName) {
+        final Expiration previous = pending.remove(fullName);
+
+        if (previous != null && previous.future != null) {
+            previous.future.cancel(false);
+        }
+    }
+
+    public boolean isPending(@NonNull String fullName) {
+        return pending.containsKey(fullName);
+    }
+
+    void clear() {
+        pending.keySet().forEach(this::cancel);
+    }
+
+    private void expire(@NonNull Expiration expiration) {
+        if (!pending.remove(expiration.fullName, expiration)) {
+            return;
+        }
+        final Jenkins jenkins = Jenkins.getInstanceOrNull();
+
+        if (jenkins == null) {
+            return;
+        }
+
+        try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+            if (expiration.job) {
+                expireJob(jenkins, expiration);
+            } else {
+                expireProject(jenkins, expiration);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to remove the expired block of " + expiration.fullName, e);
+        }
+        jenkins.getQueue().scheduleMaintenance();
+    }
+
+    private static void expireJob(@NonNull Jenkins jenkins, @NonNull Expiration expiration) throws IOException {
+        final Job<?, ?> job = jenkins.getItemByFullName(expiration.fullName, Job.class);
+        final JobBlockedProperty property = job == null ? null : job.getProperty(JobBlockedProperty.class);
+
+        if (property != null && property.getExpiresAt() == expiration.expiresAt) {
+            job.removeProperty(JobBlockedProperty.class);
+            BlockIndex.get().updateJob(job);
+            audit(BlockEvent.Type.EXPIRE_JOB, expiration.fullName, 1);
+        }
+    }
+
+    private static void expireProject(@NonNull Jenkins jenkins, @NonNull Expiration expiration) throws IOException {
+        final AbstractFolder<?> folder = jenkins.getItemByFullName(expiration.fullName, AbstractFolder.class);
+        final ProjectBlockedProperty property = folder == null ? null : folder.getProperties().get(ProjectBlockedProperty.class);
+
+        if (property != null && property.getExpiresAt() == expiration.expiresAt) {
+            folder.getProperties().remove(ProjectBlockedProperty.class);
+            BlockIndex.get().updateProject(folder);
+            audit(BlockEvent.Type.EXPIRE, expiration.fullName, folder.getAllJobs().size());
+        }
+    }
+
+    private static void audit(@NonNull BlockEvent.Type type, @NonNull String fullName, int jobs) {
+        BlockAudit.get().record(new BlockEvent(System.currentTimeMillis(), type, fullName, ACL.SYSTEM_USERNAME, null, jobs));
+    }
+
+
+    private static final class Expiration {
+        private final String fullName;
+        private final boolean job;
+        private final long expiresAt;
+        private volatile Future<?> future;
+
+        private Expiration(@NonNull String fullName, boolean job, long expiresAt) {
+            this.fullName = fullName;
+            this.job = job;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jakarta.servlet.ServletException;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.interceptor.RequirePOST;
+
+import java.io.IOException;
+
+public class BlockFolderAction extends AbstractBlockAction {
+    private final AbstractFolder<?> folder;
+
+    public BlockFolderAction(@NonNull AbstractFolder<?> folder) {
+        this(folder, BlockIndex.get(), BlockOperationQueue.get());
+    }
+
+    BlockFolderAction(@NonNull AbstractFolder<?> folder, @NonNull BlockIndex index, @NonNull BlockOperationQueue operations) {
+        super(folder, index, operations);
+        this.folder = folder;
+    }
+
+
+    @RequirePOST
+    public HttpResponse doBlock(@NonNull StaplerRequest2 req) throws ServletException {
+        checkPermission();
+        final JSONObject form = req.getSubmittedForm();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty(form.getString("message").trim(), getCurrentUser().getFullName());
+        final ProjectBlockedProperty existing = getProperty();
+        final Long expiresAt = parseExpiry(form.optString("expiresIn"), existing == null ? 0 : existing.getExpiresAt());
+
+        if (expiresAt == null) {
+            return invalidExpiry();
+        }
+        property.setExpiresAt(expiresAt);
+        return submit(req, "block", operation -> addBlockProperty(property));
+    }
+
+    @RequirePOST
+    public HttpResponse doUnblock(@NonNull StaplerRequest2 req) {
+        checkPermission();
+        return submit(req, "unblock", operation -> removeBlockProperty());
+    }
+
+    protected void addBlockProperty(@NonNull ProjectBlockedProperty property) throws IOException {
+        folder.getProperties().replace(property);
+        index.updateProject(folder);
+        audit(BlockEvent.Type.BLOCK, folder.getFullName(), property.getMessage(), folder.getAllJobs().size());
+    }
+
+    protected void removeBlockProperty() throws IOException {
+        final ProjectBlockedProperty property = getProperty();
+        folder.getProperties().remove(ProjectBlockedProperty.class);
+        index.updateProject(folder);
+
+        if (property != null) {
+            audit(BlockEvent.Type.UNBLOCK, folder.getFullName(), property.getMessage(), folder.getAllJobs().size());
+        }
+    }
+}
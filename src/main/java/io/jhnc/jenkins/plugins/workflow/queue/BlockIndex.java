@@ -0,0 +1,733 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.Saveable;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+public class BlockIndex {
+    private static final BlockIndex INSTANCE = new BlockIndex();
+    private static final CauseOfBlockage JOB_CAUSE = new BlockPipelineQueueDispatcher.JobBlockedCause(null);
+    private static final ScheduledBlock[] NO_SCHEDULES = new ScheduledBlock[0];
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, BlockDrain> drains = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Ancestry> ancestors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ScheduledBlock> schedules = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, State> states = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, BlockSummary> blocks = new ConcurrentSkipListMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final BlockExpiry expiry = new BlockExpiry();
+    private final HeadCategories heads;
+    private volatile Freeze freeze;
+    private volatile BlockSnapshot snapshot;
+    private final AtomicBoolean ready = new AtomicBoolean();
+
+    BlockIndex() {
+        this(new HeadCategories());
+    }
+
+    BlockIndex(@NonNull HeadCategories heads) {
+        this.heads = heads;
+    }
+
+    @NonNull
+    public static BlockIndex get() {
+        return INSTANCE;
+    }
+
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    @CheckForNull
+    public CauseOfBlockage getFreezeCause(@NonNull Job<?, ?> job) {
+        final Freeze current = freeze;
+        return current == null || current.allowed.matches(job.getFullName()) ? null : current.cause;
+    }
+
+    public boolean isFrozen() {
+        return freeze != null;
+    }
+
+    public void setFreeze(@CheckForNull String message, @NonNull Collection<String> allowed) {
+        freeze = message == null ? null
+                : new Freeze(new BlockPipelineQueueDispatcher.FrozenCause(message), GlobMatcher.compile(allowed));
+        version.incrementAndGet();
+        BlockWaiters.get().wake();
+    }
+
+    @CheckForNull
+    public CauseOfBlockage getCause(@NonNull Job<?, ?> job) {
+        return getCause(job, null);
+    }
+
+    @CheckForNull
+    public CauseOfBlockage getCause(@NonNull Job<?, ?> job, @CheckForNull IntSupplier triggers) {
+        final ItemGroup<?> parent = job.getParent();
+        final Entry entry = entries.get(parent.getFullName());
+        final CauseOfBlockage cause = entry == null ? null : entry.getCause(job, triggers, heads);
+
+        if (cause != null) {
+            return cause;
+        }
+        final CauseOfBlockage scheduled = getScheduledCause(parent);
+        return scheduled == null ? getInheritedCause(parent) : scheduled;
+    }
+
+    @CheckForNull
+    public CauseOfBlockage getProjectCause(@NonNull ItemGroup<?> group) {
+        final Entry entry = entries.get(group.getFullName());
+
+        if (entry != null && entry.projectCause != null) {
+            return entry.projectCause;
+        }
+        final CauseOfBlockage scheduled = getScheduledCause(group);
+        return scheduled == null ? getInheritedCause(group) : scheduled;
+    }
+
+    public boolean blocks(@NonNull ProjectBlockedProperty property, @NonNull Job<?, ?> job, @CheckForNull IntSupplier triggers) {
+        return matches(property.getFilter(), property.getCategoryMask(), property.getTriggerMask(), job, triggers, heads);
+    }
+
+    @NonNull
+    public Collection<BlockSummary> getBlocks() {
+        return Collections.unmodifiableCollection(blocks.values());
+    }
+
+    @CheckForNull
+    public BlockSummary getBlock(@NonNull String fullName) {
+        return blocks.get(fullName);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    @NonNull
+    BlockExpiry getExpiry() {
+        return expiry;
+    }
+
+    @CheckForNull
+    public ScheduledBlock getScheduledBlock(@NonNull String project) {
+        return schedules.get(project);
+    }
+
+    @CheckForNull
+    private CauseOfBlockage getScheduledCause(@NonNull ItemGroup<?> group) {
+        if (schedules.isEmpty()) {
+            return null;
+        }
+        final ScheduledBlock[] scheduled = getAncestry(group).schedules;
+
+        if (scheduled.length == 0) {
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+
+        for (final ScheduledBlock schedule : scheduled) {
+            if (schedule.isActive(now)) {
+                return schedule.getCause();
+            }
+        }
+        return null;
+    }
+
+    void updateSchedule(@NonNull String project, @NonNull List<BlockWindow> windows, long now) {
+        final ScheduledBlock schedule = windows.isEmpty() ? null : ScheduledBlock.compute(project, windows, now);
+        final ScheduledBlock previous = schedule == null ? schedules.remove(project) : schedules.put(project, schedule);
+
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (previous != null || schedule != null) {
+            invalidateAncestors();
+            version.incrementAndGet();
+        }
+        if (schedule != null) {
+            final long next = schedule.isActive(now) ? schedule.getUntilMillis() : schedule.getFrom().getTime();
+            schedule.setTransition(Timer.get().schedule(() -> onTransition(project, schedule),
+                    Math.max(0, next - now), TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void onTransition(@NonNull String project, @NonNull ScheduledBlock schedule) {
+        final long now = System.currentTimeMillis();
+
+        if (schedules.get(project) == schedule) {
+            updateSchedule(project, schedule.getWindows(), now);
+        }
+        BlockAudit.get().record(new BlockEvent(now, schedule.isActive(now) ? BlockEvent.Type.SCHEDULE_START : BlockEvent.Type.SCHEDULE_END,
+                project, ACL.SYSTEM_USERNAME, null, 0));
+        BlockWaiters.get().wake();
+        scheduleMaintenance();
+    }
+
+    private static void scheduleMaintenance() {
+        final Jenkins jenkins = Jenkins.getInstanceOrNull();
+
+        if (jenkins != null) {
+            jenkins.getQueue().scheduleMaintenance();
+        }
+    }
+
+    @CheckForNull
+    public CauseOfBlockage getInheritedCause(@NonNull ItemGroup<?> group) {
+        return getAncestry(group).cause;
+    }
+
+    @NonNull
+    private Ancestry getAncestry(@NonNull ItemGroup<?> group) {
+        final long current = generation.get();
+        final Ancestry cached = ancestors.get(group.getFullName());
+
+        if (cached != null && cached.generation == current) {
+            return cached;
+        }
+        final Ancestry ancestry = new Ancestry(current, findAncestorCause(group), findSchedules(group));
+        ancestors.put(group.getFullName(), ancestry);
+        return ancestry;
+    }
+
+    @CheckForNull
+    public CauseOfBlockage getDrainCause(@NonNull Job<?, ?> job, long itemId) {
+        if (drains.isEmpty()) {
+            return null;
+        }
+        final String project = job.getParent().getFullName();
+        final BlockDrain drain = drains.get(project);
+
+        if (drain == null) {
+            return null;
+        }
+        final long now = System.nanoTime();
+
+        if (drain.tryRelease(itemId, now)) {
+            if (drain.isDone(now)) {
+                drains.remove(project, drain);
+            }
+            return null;
+        }
+        final long next = drain.getNextRelease();
+
+        if (drain.claimWakeup(next)) {
+            Timer.get().schedule(BlockIndex::scheduleMaintenance, Math.max(0, next - now), TimeUnit.NANOSECONDS);
+        }
+        return drain.getCause();
+    }
+
+    @CheckForNull
+    public BlockDrain getDrain(@NonNull String project) {
+        return drains.get(project);
+    }
+
+    public void startDrain(@NonNull String project, int ratePerMinute) {
+        startDrain(project, ratePerMinute, System.nanoTime(), Queue.getInstance().getItems());
+    }
+
+    void startDrain(@NonNull String project, int ratePerMinute, long startNanos, @NonNull Queue.Item... items) {
+        final Set<String> blockedJobs = getBlockedJobs(project);
+        int total = 0;
+
+        for (final Queue.Item item : items) {
+            if (item instanceof Queue.BlockedItem && item.task instanceof Job<?, ?> job
+                    && project.equals(job.getParent().getFullName()) && !blockedJobs.contains(job.getName())) {
+                ++total;
+            }
+        }
+
+        if (total > 0) {
+            drains.put(project, new BlockDrain(total, ratePerMinute, startNanos));
+        } else {
+            drains.remove(project);
+        }
+    }
+
+    @CheckForNull
+    public BlockPipelineQueueDispatcher.ThrottledCause getThrottle(@NonNull Job<?, ?> job) {
+        final Entry entry = entries.get(job.getParent().getFullName());
+        return entry == null ? null : entry.throttle;
+    }
+
+    public boolean isBlocked(@NonNull ItemGroup<?> group) {
+        final Entry entry = entries.get(group.getFullName());
+        return entry != null && entry.projectCause != null;
+    }
+
+    @NonNull
+    public Set<String> getBlockedJobs(@NonNull ItemGroup<?> group) {
+        return getBlockedJobs(group.getFullName());
+    }
+
+    @NonNull
+    public Set<String> getBlockedJobs(@NonNull String fullName) {
+        final Entry entry = entries.get(fullName);
+        return entry == null ? Collections.emptySet() : entry.jobs;
+    }
+
+    public void update(@NonNull Item item) {
+        if (item instanceof Job<?, ?> job) {
+            updateJob(job);
+        } else if (item instanceof ItemGroup<?> group) {
+            updateProject(group);
+        }
+    }
+
+    public void updateProject(@NonNull ItemGroup<?> group) {
+        final AbstractFolder<?> folder = group instanceof AbstractFolder<?> f ? f : null;
+        final ProjectBlockedProperty property = folder == null ? null : folder.getProperties().get(ProjectBlockedProperty.class);
+        final ProjectThrottleProperty throttleProperty = folder == null ? null : folder.getProperties().get(ProjectThrottleProperty.class);
+        final BlockWindowsProperty windowsProperty = folder == null ? null : folder.getProperties().get(BlockWindowsProperty.class);
+        final BlockSummary summary = property == null ? null : BlockSummary.of(group.getFullName(), property);
+        final int limit = throttleProperty == null ? 0 : Math.max(0, throttleProperty.getLimit());
+        final List<BlockWindow> windows = windowsProperty == null ? List.of() : windowsProperty.getWindows();
+
+        if (!updateState(group.getFullName(), State.of(summary, property, limit, windows))) {
+            return;
+        }
+        final CauseOfBlockage cause = property == null ? null
+                : new BlockPipelineQueueDispatcher.JobBlockedCause(property.getMessage());
+        final BlockPipelineQueueDispatcher.ThrottledCause throttle = limit == 0 ? null
+                : new BlockPipelineQueueDispatcher.ThrottledCause(limit);
+        if (cause != null) {
+            drains.remove(group.getFullName());
+        }
+        expiry.update(group.getFullName(), false, property == null ? 0 : property.getExpiresAt());
+        updateSummary(group.getFullName(), summary);
+        updateSchedule(group.getFullName(), windows, System.currentTimeMillis());
+        final BranchFilter filter = property == null ? null : property.getFilter();
+        final int triggers = property == null ? 0 : property.getTriggerMask();
+        final int categories = property == null ? 0 : property.getCategoryMask();
+        final Entry previous = entries.get(group.getFullName());
+        if (throttle != null && (previous == null || previous.throttle == null)) {
+            RunningBuilds.get().seed(group.getItems());
+        }
+        entries.compute(group.getFullName(), (name, entry) -> Entry.of(cause, filter, triggers, categories,
+                entry == null ? Collections.emptySet() : entry.jobs, throttle));
+        if (cause != null || previous != null && previous.projectCause != null) {
+            invalidateAncestors();
+        }
+        BlockWaiters.get().wake();
+    }
+
+    public void updateJob(@NonNull Job<?, ?> job) {
+        final JobBlockedProperty property = job.getProperty(JobBlockedProperty.class);
+        final String parent = job.getParent().getFullName();
+        final String fullName = parent.isEmpty() ? job.getName() : parent + "/" + job.getName();
+        final BlockSummary summary = property == null ? null : BlockSummary.of(fullName, property);
+
+        if (!updateState(fullName, State.of(summary, null, 0, List.of()))) {
+            return;
+        }
+        updateJob(parent, job.getName(), property != null);
+        expiry.update(fullName, true, property == null ? 0 : property.getExpiresAt());
+        updateSummary(fullName, summary);
+        BlockWaiters.get().wake();
+    }
+
+    public void remove(@NonNull String fullName) {
+        entries.remove(fullName);
+        states.remove(fullName);
+        drains.remove(fullName);
+        updateSchedule(fullName, List.of(), System.currentTimeMillis());
+        expiry.cancel(fullName);
+        heads.evict(fullName);
+        final String prefix = fullName + "/";
+        entries.keySet().removeIf(name -> name.startsWith(prefix));
+        states.keySet().removeIf(name -> name.startsWith(prefix));
+        blocks.remove(fullName);
+        blocks.subMap(prefix, prefix + Character.MAX_VALUE).clear();
+        final int separator = fullName.lastIndexOf('/');
+        final String parent = separator < 0 ? "" : fullName.substring(0, separator);
+        final String name = fullName.substring(separator + 1);
+        final Entry parentEntry = entries.get(parent);
+
+        if (parentEntry != null && parentEntry.filter != null) {
+            parentEntry.filter.evict(name);
+        }
+        updateJob(parent, name, false);
+        invalidateAncestors();
+        version.incrementAndGet();
+        saveSnapshot();
+        BlockWaiters.get().wake();
+    }
+
+    public void rebuild() {
+        rebuild(Jenkins.get().allItems());
+    }
+
+    void rebuild(@NonNull Iterable<? extends Item> items) {
+        final boolean warm = ready.get();
+        final Set<String> visited = new HashSet<>();
+
+        if (!warm) {
+            entries.clear();
+            states.clear();
+            blocks.clear();
+        }
+        for (final Item item : items) {
+            update(item);
+
+            if (warm) {
+                visited.add(item.getFullName());
+            }
+        }
+        if (warm) {
+            prune(visited);
+        }
+        invalidateAncestors();
+        ready.set(true);
+        version.incrementAndGet();
+        saveSnapshot();
+        BlockWaiters.get().wake();
+    }
+
+    void restore(@CheckForNull Collection<BlockSummary> summaries) {
+        if (summaries == null || ready.get()) {
+            return;
+        }
+        for (final BlockSummary summary : summaries) {
+            final String fullName = summary.getFullName();
+
+            if (summary.isJob()) {
+                final int separator = fullName.lastIndexOf('/');
+                updateJob(separator < 0 ? "" : fullName.substring(0, separator), fullName.substring(separator + 1), true);
+            } else {
+                final CauseOfBlockage cause = new BlockPipelineQueueDispatcher.JobBlockedCause(summary.getMessage());
+                entries.compute(fullName, (name, entry) -> Entry.of(cause, null, 0, 0, entry == null ? Collections.emptySet() : entry.jobs, null));
+            }
+            blocks.put(fullName, summary);
+        }
+        invalidateAncestors();
+        ready.set(true);
+        version.incrementAndGet();
+    }
+
+    void setSnapshot(@CheckForNull BlockSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    void clear() {
+        entries.clear();
+        states.clear();
+        blocks.clear();
+        drains.clear();
+        schedules.values().forEach(ScheduledBlock::cancel);
+        schedules.clear();
+        expiry.clear();
+        heads.clear();
+        invalidateAncestors();
+        ready.set(false);
+        version.incrementAndGet();
+    }
+
+    private boolean updateState(@NonNull String fullName, @NonNull State state) {
+        return !state.equals(states.put(fullName, state));
+    }
+
+    private void updateSummary(@NonNull String fullName, @CheckForNull BlockSummary summary) {
+        final BlockSummary previous = summary == null ? blocks.remove(fullName) : blocks.put(fullName, summary);
+
+        if (!Objects.equals(previous, summary)) {
+            version.incrementAndGet();
+            saveSnapshot();
+        }
+    }
+
+    private void saveSnapshot() {
+        final BlockSnapshot current = snapshot;
+
+        if (current != null) {
+            current.save(blocks.values());
+        }
+    }
+
+    private void prune(@NonNull Set<String> visited) {
+        visited.add("");
+        entries.keySet().removeIf(name -> !visited.contains(name));
+        for (final String parent : entries.keySet()) {
+            entries.computeIfPresent(parent, (key, entry) -> {
+                final Set<String> jobs = new HashSet<>(entry.jobs);
+                jobs.removeIf(name -> !visited.contains(key.isEmpty() ? name : key + "/" + name));
+                return jobs.size() == entry.jobs.size() ? entry
+                        : Entry.of(entry.projectCause, entry.filter, entry.triggers, entry.categories, Collections.unmodifiableSet(jobs), entry.throttle);
+            });
+        }
+        states.keySet().removeIf(name -> !visited.contains(name));
+        blocks.keySet().removeIf(name -> !visited.contains(name));
+    }
+
+    private void invalidateAncestors() {
+        generation.incrementAndGet();
+        ancestors.clear();
+    }
+
+    @CheckForNull
+    private CauseOfBlockage findAncestorCause(@NonNull ItemGroup<?> group) {
+        ItemGroup<?> ancestor = group instanceof Item item ? item.getParent() : null;
+
+        while (ancestor != null) {
+            final Entry entry = entries.get(ancestor.getFullName());
+
+            if (entry != null && entry.projectCause != null) {
+                return entry.projectCause;
+            }
+            ancestor = ancestor instanceof Item item ? item.getParent() : null;
+        }
+        return null;
+    }
+
+    @NonNull
+    private ScheduledBlock[] findSchedules(@NonNull ItemGroup<?> group) {
+        if (schedules.isEmpty()) {
+            return NO_SCHEDULES;
+        }
+        final List<ScheduledBlock> found = new ArrayList<>();
+        ItemGroup<?> ancestor = group;
+
+        while (ancestor != null) {
+            final ScheduledBlock schedule = schedules.get(ancestor.getFullName());
+
+            if (schedule != null) {
+                found.add(schedule);
+            }
+            ancestor = ancestor instanceof Item item ? item.getParent() : null;
+        }
+        return found.toArray(NO_SCHEDULES);
+    }
+
+    private static boolean matches(@CheckForNull BranchFilter filter, int categories, int triggers, @NonNull Job<?, ?> job,
+                                   @CheckForNull IntSupplier itemTriggers, @NonNull HeadCategories heads) {
+        return (filter == null || filter.matches(job.getName()))
+                && (categories == 0 || (heads.getCategory(job).getMask() & categories) != 0)
+                && (triggers == 0 || itemTriggers == null || (itemTriggers.getAsInt() & ~triggers) == 0);
+    }
+
+    private void updateJob(@NonNull String parent, @NonNull String name, boolean blocked) {
+        entries.compute(parent, (key, entry) -> {
+            final Set<String> jobs = entry == null ? Collections.emptySet() : entry.jobs;
+            if (jobs.contains(name) == blocked) {
+                return entry;
+            }
+            final Set<String> updated = new HashSet<>(jobs);
+            if (blocked) {
+                updated.add(name);
+            } else {
+                updated.remove(name);
+            }
+            version.incrementAndGet();
+            return entry == null ? Entry.of(null, null, 0, 0, Collections.unmodifiableSet(updated), null)
+                    : Entry.of(entry.projectCause, entry.filter, entry.triggers, entry.categories, Collections.unmodifiableSet(updated), entry.throttle);
+        });
+    }
+
+
+    private static final class Freeze {
+        private final CauseOfBlockage cause;
+        private final GlobMatcher allowed;
+
+        private Freeze(@NonNull CauseOfBlockage cause, @NonNull GlobMatcher allowed) {
+            this.cause = cause;
+            this.allowed = allowed;
+        }
+    }
+
+    private static final class Ancestry {
+        private final long generation;
+        private final CauseOfBlockage cause;
+        private final ScheduledBlock[] schedules;
+
+        private Ancestry(long generation, @CheckForNull CauseOfBlockage cause, @NonNull ScheduledBlock[] schedules) {
+            this.generation = generation;
+            this.cause = cause;
+            this.schedules = schedules;
+        }
+    }
+
+    private static final class State {
+        private final BlockSummary summary;
+        private final List<String> includes;
+        private final List<String> excludes;
+        private final int triggers;
+        private final int categories;
+        private final int limit;
+        private final List<BlockWindow> windows;
+
+        private State(@CheckForNull BlockSummary summary, @NonNull List<String> includes, @NonNull List<String> excludes,
+                      int triggers, int categories, int limit, @NonNull List<BlockWindow> windows) {
+            this.summary = summary;
+            this.includes = includes;
+            this.excludes = excludes;
+            this.triggers = triggers;
+            this.categories = categories;
+            this.limit = limit;
+            this.windows = windows;
+        }
+
+        @NonNull
+        static State of(@CheckForNull BlockSummary summary, @CheckForNull ProjectBlockedProperty property, int limit,
+                        @NonNull List<BlockWindow> windows) {
+            return property == null ? new State(summary, List.of(), List.of(), 0, 0, limit, List.copyOf(windows))
+                    : new State(summary, List.copyOf(property.getIncludes()), List.copyOf(property.getExcludes()),
+                    property.getTriggerMask(), property.getCategoryMask(), limit, List.copyOf(windows));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof State other)) {
+                return false;
+            }
+            return triggers == other.triggers && categories == other.categories && limit == other.limit
+                    && Objects.equals(summary, other.summary) && includes.equals(other.includes) && excludes.equals(other.excludes)
+                    && windows.equals(other.windows);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(summary, includes, excludes, triggers, categories, limit, windows);
+        }
+    }
+
+    private static final class Entry {
+        private final CauseOfBlockage projectCause;
+        private final BranchFilter filter;
+        private final int triggers;
+        private final int categories;
+        private final Set<String> jobs;
+        private final BlockPipelineQueueDispatcher.ThrottledCause throttle;
+
+        private Entry(@CheckForNull CauseOfBlockage projectCause, @CheckForNull BranchFilter filter, int triggers, int categories,
+                      @NonNull Set<String> jobs, @CheckForNull BlockPipelineQueueDispatcher.ThrottledCause throttle) {
+            this.projectCause = projectCause;
+            this.filter = filter;
+            this.triggers = triggers;
+            this.categories = categories;
+            this.jobs = jobs;
+            this.throttle = throttle;
+        }
+
+        @CheckForNull
+        static Entry of(@CheckForNull CauseOfBlockage projectCause, @CheckForNull BranchFilter filter, int triggers, int categories,
+                        @NonNull Set<String> jobs, @CheckForNull BlockPipelineQueueDispatcher.ThrottledCause throttle) {
+            return projectCause == null && jobs.isEmpty() && throttle == null ? null
+                    : new Entry(projectCause, filter, triggers, categories, jobs, throttle);
+        }
+
+        @CheckForNull
+        CauseOfBlockage getCause(@NonNull Job<?, ?> job, @CheckForNull IntSupplier itemTriggers, @NonNull HeadCategories heads) {
+            final String name = job.getName();
+
+            if (projectCause != null && matches(filter, categories, triggers, job, itemTriggers, heads)) {
+                return projectCause;
+            }
+            return jobs.contains(name) ? JOB_CAUSE : null;
+        }
+    }
+
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+        @Override
+        public void onLoaded() {
+            final BlockIndex index = get();
+
+            if (index.isReady()) {
+                Timer.get().execute(() -> {
+                    try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+                        index.rebuild();
+                    }
+                });
+            } else {
+                index.rebuild();
+            }
+        }
+
+        @Override
+        public void onCreated(Item item) {
+            get().update(item);
+        }
+
+        @Override
+        public void onUpdated(Item item) {
+            get().update(item);
+        }
+
+        @Override
+        public void onDeleted(Item item) {
+            get().remove(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            get().remove(oldFullName);
+            get().update(item);
+        }
+    }
+
+    @Extension
+    public static class SaveableListenerImpl extends SaveableListener {
+        @Override
+        public void onChange(Saveable o, XmlFile file) {
+            if (o instanceof Item item) {
+                get().update(item);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Job;
+import hudson.model.Queue;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BlockMetrics {
+    private static final BlockMetrics INSTANCE = new BlockMetrics();
+    private static final int BUCKETS = 40;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray latency = new AtomicLongArray(BUCKETS);
+
+    BlockMetrics() {
+    }
+
+    @NonNull
+    public static BlockMetrics get() {
+        return INSTANCE;
+    }
+
+    public void record(long nanos, boolean isBlocked) {
+        calls.increment();
+        (isBlocked ? blocked : allowed).increment();
+        totalNanos.add(nanos);
+        latency.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos))));
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    @NonNull
+    public static Map<String, Integer> getBlockedItems(@NonNull Queue.Item... items) {
+        final Map<String, Integer> result = new TreeMap<>();
+
+        for (final Queue.Item item : items) {
+            if (item instanceof Queue.BlockedItem && item.task instanceof Job<?, ?> job
+                    && item.getCauseOfBlockage() instanceof BlockPipelineQueueDispatcher.JobBlockedCause) {
+                result.merge(job.getParent().getFullName(), 1, Integer::sum);
+            }
+        }
+        return result;
+    }
+
+    @NonNull
+    public JSONObject toJSON(@NonNull Queue.Item... items) {
+        final long count = getCalls();
+        final JSONArray histogram = new JSONArray();
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            final long bucket = latency.get(i);
+
+            if (bucket > 0) {
+                histogram.add(new JSONObject().element("leNanos", (1L << i) - 1).element("count", bucket));
+            }
+        }
+
+        return new JSONObject()
+                .element("calls", count)
+                .element("blocked", getBlocked())
+                .element("allowed", getAllowed())
+                .element("meanNanos", count == 0 ? 0 : totalNanos.sum() / count)
+                .element("latency", histogram)
+                .element("blockedItems", getBlockedItems(items));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import net.sf.json.JSONObject;
+import org.springframework.security.core.Authentication;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BlockOperation {
+    private static final Logger LOGGER = Logger.getLogger(BlockOperation.class.getName());
+    private final long id;
+    private final String project;
+    private final String name;
+    private final Task task;
+    private final Authentication authentication;
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private final AtomicReference<String> error = new AtomicReference<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger(1);
+    private final ConcurrentMap<String, String> results = new ConcurrentSkipListMap<>();
+
+    BlockOperation(long id, @NonNull String project, @NonNull String name, @NonNull Task task, @NonNull Authentication authentication) {
+        this.id = id;
+        this.project = project;
+        this.name = name;
+        this.task = task;
+        this.authentication = authentication;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @NonNull
+    public String getProject() {
+        return project;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @NonNull
+    public Status getStatus() {
+        return status.get();
+    }
+
+    @CheckForNull
+    public String getError() {
+        return error.get();
+    }
+
+    public int getCompleted() {
+        return completed.get();
+    }
+
+    public int getTotal() {
+        return total.get();
+    }
+
+    public boolean isDone() {
+        return getStatus().isDone();
+    }
+
+    @NonNull
+    public Map<String, String> getResults() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    public void setResult(@NonNull String item, @NonNull String result) {
+        results.put(item, result);
+    }
+
+    public void setTotal(int total) {
+        this.total.set(total);
+    }
+
+    public void progress() {
+        completed.incrementAndGet();
+    }
+
+    @NonNull
+    public JSONObject toJSON() {
+        return new JSONObject()
+                .element("id", id)
+                .element("project", project)
+                .element("name", name)
+                .element("status", getStatus().name())
+                .element("completed", getCompleted())
+                .element("total", getTotal())
+                .element("error", getError())
+                .element("results", results);
+    }
+
+    void run() {
+        status.set(Status.RUNNING);
+
+        try (ACLContext ignored = ACL.as2(authentication)) {
+            task.run(this);
+            status.set(Status.SUCCEEDED);
+        } catch (Throwable e) {
+            LOGGER.log(Level.WARNING, "Block operation '" + name + "' of " + project + " failed", e);
+            error.set(e.getMessage());
+            status.set(Status.FAILED);
+        }
+    }
+
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED;
+
+        public boolean isDone() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run(@NonNull BlockOperation operation) throws IOException;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.Jenkins;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BlockOperationQueue {
+    private static final int THREADS = Integer.getInteger(BlockOperationQueue.class.getName() + ".threads", 2);
+    private static final int MAX_PENDING = Integer.getInteger(BlockOperationQueue.class.getName() + ".maxPending", 1000);
+    private static final int MAX_FINISHED = Integer.getInteger(BlockOperationQueue.class.getName() + ".maxFinished", 100);
+    private static final BlockOperationQueue INSTANCE = new BlockOperationQueue(Executors.newFixedThreadPool(THREADS,
+            new NamingThreadFactory(new DaemonThreadFactory(), BlockOperationQueue.class.getSimpleName())));
+    private final Executor executor;
+    private final AtomicLong ids = new AtomicLong();
+    private final ConcurrentMap<Long, BlockOperation> operations = new ConcurrentHashMap<>();
+    private final Map<String, Deque<BlockOperation>> pending = new HashMap<>();
+    private final Deque<BlockOperation> finished = new ArrayDeque<>();
+    private int pendingCount;
+
+    BlockOperationQueue(@NonNull Executor executor) {
+        this.executor = executor;
+    }
+
+    @NonNull
+    public static BlockOperationQueue get() {
+        return INSTANCE;
+    }
+
+    @NonNull
+    public BlockOperation submit(@NonNull String project, @NonNull String name, @NonNull BlockOperation.Task task) {
+        final BlockOperation operation = new BlockOperation(ids.incrementAndGet(), project, name, task, Jenkins.getAuthentication2());
+        final boolean start;
+
+        synchronized (pending) {
+            if (pendingCount >= MAX_PENDING) {
+                throw new RejectedExecutionException("Too many pending block operations");
+            }
+            final Deque<BlockOperation> queue = pending.computeIfAbsent(project, k -> new ArrayDeque<>());
+            queue.add(operation);
+            start = queue.size() == 1;
+            ++pendingCount;
+        }
+
+        operations.put(operation.getId(), operation);
+
+        if (start) {
+            executor.execute(() -> run(operation));
+        }
+        return operation;
+    }
+
+    @CheckForNull
+    public BlockOperation getOperation(long id) {
+        return operations.get(id);
+    }
+
+    @NonNull
+    public List<BlockOperation> getPendingOperations(@NonNull String project) {
+        synchronized (pending) {
+            final Deque<BlockOperation> queue = pending.get(project);
+            return queue == null ? List.of() : new ArrayList<>(queue);
+        }
+    }
+
+    private void run(@NonNull BlockOperation operation) {
+        operation.run();
+        final BlockOperation next;
+
+        synchronized (pending) {
+            --pendingCount;
+            final Deque<BlockOperation> queue = pending.get(operation.getProject());
+            queue.poll();
+            next = queue.peek();
+
+            if (next == null) {
+                pending.remove(operation.getProject());
+            }
+
+            finished.add(operation);
+
+            while (finished.size() > MAX_FINISHED) {
+                operations.remove(finished.poll().getId());
+            }
+        }
+
+        if (next != null) {
+            executor.execute(() -> run(next));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.model.ManagementLink;
+import hudson.model.Queue;
+import hudson.security.Permission;
+import jenkins.model.Jenkins;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Extension
+public class BlockOverviewLink extends ManagementLink {
+    private final BlockIndex index;
+
+    public BlockOverviewLink() {
+        this(BlockIndex.get());
+    }
+
+    BlockOverviewLink(@NonNull BlockIndex index) {
+        this.index = index;
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return "/plugin/jenkins-workflow-extensions/images/lock.svg";
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return Messages.BlockOverviewLink_displayName();
+    }
+
+    @Override
+    public String getDescription() {
+        return Messages.BlockOverviewLink_description();
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return "pipeline-blocks-overview";
+    }
+
+    @NonNull
+    @Override
+    public Permission getRequiredPermission() {
+        return Jenkins.SYSTEM_READ;
+    }
+
+    @NonNull
+    @Override
+    public Category getCategory() {
+        return Category.STATUS;
+    }
+
+    public boolean isFrozen() {
+        return index.isFrozen();
+    }
+
+    @NonNull
+    public Collection<BlockSummary> getBlocks() {
+        return index.getBlocks();
+    }
+
+    @NonNull
+    public Map<String, Integer> getQueuedItems() {
+        return getQueuedItems(Queue.getInstance().getItems());
+    }
+
+    @NonNull
+    static Map<String, Integer> getQueuedItems(@NonNull Queue.Item... items) {
+        final Map<String, Integer> result = new HashMap<>();
+
+        for (final Queue.Item item : items) {
+            if (item instanceof Queue.BlockedItem && item.task instanceof Job<?, ?> job) {
+                result.merge(job.getFullName(), 1, Integer::sum);
+                ItemGroup<?> parent = job.getParent();
+
+                while (parent instanceof Item group) {
+                    result.merge(group.getFullName(), 1, Integer::sum);
+                    parent = group.getParent();
+                }
+            }
+        }
+        return result;
+    }
+}
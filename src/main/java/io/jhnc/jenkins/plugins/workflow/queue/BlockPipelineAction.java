@@ -26,90 +26,158 @@ package io.jhnc.jenkins.plugins.workflow.queue;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import hudson.model.Action;
+import hudson.BulkChange;
+import hudson.Util;
+import hudson.model.Computer;
+import hudson.model.Executor;
 import hudson.model.Item;
 import hudson.model.Job;
-import hudson.model.User;
-import hudson.security.Permission;
-import hudson.util.FormApply;
+import hudson.model.Queue;
 import hudson.util.FormValidation;
+import hudson.util.HttpResponses;
 import jakarta.servlet.ServletException;
 import jenkins.branch.MultiBranchProject;
+import jenkins.branch.NameEncoder;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+import org.apache.commons.io.IOUtils;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.kohsuke.stapler.HttpResponse;
-import org.kohsuke.stapler.StaplerProxy;
+import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
 import org.kohsuke.stapler.interceptor.RequirePOST;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Date;
-import java.util.function.Function;
-
-public class BlockPipelineAction implements Action, StaplerProxy {
-    private static final Permission PERMISSION = Item.CONFIGURE;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+public class BlockPipelineAction extends AbstractBlockAction {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
     private final MultiBranchProject<WorkflowJob, WorkflowRun> project;
 
     public BlockPipelineAction(MultiBranchProject<WorkflowJob, WorkflowRun> project) {
+        this(project, BlockIndex.get(), BlockOperationQueue.get());
+    }
+
+    BlockPipelineAction(MultiBranchProject<WorkflowJob, WorkflowRun> project, BlockIndex index, BlockOperationQueue operations) {
+        super(project, index, operations);
         this.project = project;
     }
 
 
-    @CheckForNull
-    @Override
-    public String getIconFileName() {
-        return project.hasPermission(PERMISSION) ? "/plugin/jenkins-workflow-extensions/images/lock.svg" : null;
+    @SuppressWarnings("unchecked")
+    public Collection<? extends Job<?, ?>> getJobs() {
+        return (Collection<? extends Job<?, ?>>) project.getAllJobs();
     }
 
-    @CheckForNull
-    @Override
-    public String getDisplayName() {
-        return "Block";
+    public boolean isBlocked(@NonNull Job<?, ?> job) {
+        return job.getProperty(JobBlockedProperty.class) != null;
     }
 
-    @CheckForNull
-    @Override
-    public String getUrlName() {
-        return "block";
+    @NonNull
+    public String getIncludes() {
+        return String.join("\n", Objects.requireNonNullElse(valueOrNull(ProjectBlockedProperty::getIncludes), List.of()));
+    }
+
+    @NonNull
+    public String getExcludes() {
+        return String.join("\n", Objects.requireNonNullElse(valueOrNull(ProjectBlockedProperty::getExcludes), List.of()));
     }
 
-    @Override
-    public Object getTarget() {
-        project.checkPermission(PERMISSION);
-        return this;
+    public boolean isCoalesce() {
+        return Boolean.TRUE.equals(valueOrNull(ProjectBlockedProperty::isCoalesce));
     }
 
-    public boolean isBlocked() {
-        return getProjectProperty() != null;
+    @NonNull
+    public TriggerCause[] getTriggerCauses() {
+        return TriggerCause.values();
     }
 
-    @SuppressWarnings("unchecked")
-    public Collection<? extends Job<?, ?>> getJobs() {
-        return (Collection<? extends Job<?, ?>>) project.getAllJobs();
+    public boolean isTriggerBlocked(@NonNull TriggerCause trigger) {
+        final List<TriggerCause> triggers = valueOrNull(ProjectBlockedProperty::getTriggers);
+        return triggers != null && triggers.contains(trigger);
     }
 
-    public boolean isBlocked(@NonNull Job<?, ?> job) {
-        return job.getProperty(JobBlockedProperty.class) != null;
+    @NonNull
+    public HeadCategory[] getHeadCategories() {
+        return HeadCategory.values();
     }
 
-    @CheckForNull
-    public String getMessage() {
-        return valueOrNull(ProjectBlockedProperty::getMessage);
+    public boolean isCategoryBlocked(@NonNull HeadCategory category) {
+        final List<HeadCategory> categories = valueOrNull(ProjectBlockedProperty::getCategories);
+        return categories != null && categories.contains(category);
+    }
+
+    public int getThrottleLimit() {
+        final ProjectThrottleProperty property = project.getProperties().get(ProjectThrottleProperty.class);
+        return property == null ? 0 : property.getLimit();
     }
 
     @CheckForNull
-    public Date getTimestamp() {
-        return valueOrNull(ProjectBlockedProperty::getTimestamp);
+    public WaitStats getWaitStats() {
+        return BlockWaitTimes.get().getProject(project.getFullName());
+    }
+
+    @NonNull
+    public String formatDuration(long millis) {
+        return Util.getTimeSpanString(millis);
+    }
+
+    public void doState(@NonNull StaplerRequest2 req, @NonNull StaplerResponse2 rsp) throws IOException {
+        checkPermission();
+        final String name = project.getFullName();
+        BlockState.write(req, rsp, BlockState.etag(index.getVersion(), List.of(name)), () -> BlockState.toJSON(index, project));
+    }
+
+    public void doEvents(@NonNull StaplerRequest2 req, @NonNull StaplerResponse2 rsp) throws IOException {
+        checkPermission();
+        final String name = project.getFullName();
+        BlockEventStream.get().subscribe(req, rsp, event -> event.isWithin(name));
+    }
+
+    public HttpResponse doWaits() {
+        checkPermission();
+        final long now = System.currentTimeMillis();
+        final WaitStats stats = getWaitStats();
+        final JSONObject jobs = new JSONObject();
+
+        BlockWaitTimes.get().getJobs(project.getFullName()).forEach((name, job) -> jobs.element(name, job.toJSON(now)));
+        return HttpResponses.okJSON(new JSONObject()
+                .element("project", stats == null ? new WaitStats(0).toJSON(now) : stats.toJSON(now))
+                .element("jobs", jobs));
+    }
+
+    public int getRunningBuilds() {
+        return RunningBuilds.get().getRunning(project.getFullName());
     }
 
     @CheckForNull
-    public String getUserName() {
-        return valueOrNull(ProjectBlockedProperty::getUser);
+    public BlockDrain getDrain() {
+        return index.getDrain(project.getFullName());
     }
 
     @RequirePOST
-    public HttpResponse doBlockJob(@NonNull StaplerRequest2 req) throws IOException {
+    public HttpResponse doBlockJob(@NonNull StaplerRequest2 req) {
         checkPermission();
         final String jobName = req.getParameter("job");
         final WorkflowJob job = project.getJob(jobName);
@@ -117,13 +185,18 @@ public class BlockPipelineAction implements Action, StaplerProxy {
         if (job == null) {
             return FormValidation.error("No Job '" + jobName + "' available");
         }
+        final JobBlockedProperty existing = job.getProperty(JobBlockedProperty.class);
+        final Long expiresAt = parseExpiry(req.getParameter("expiresIn"), existing == null ? 0 : existing.getExpiresAt());
 
-        addBlockPropertyToJob(job);
-        return FormApply.success(".");
+        if (expiresAt == null) {
+            return invalidExpiry();
+        }
+
+        return submit(req, "blockJob", operation -> addBlockPropertyToJob(job, expiresAt));
     }
 
     @RequirePOST
-    public HttpResponse doUnblockJob(@NonNull StaplerRequest2 req) throws IOException {
+    public HttpResponse doUnblockJob(@NonNull StaplerRequest2 req) {
         checkPermission();
         final String jobName = req.getParameter("job");
         final WorkflowJob job = project.getJob(jobName);
@@ -132,69 +205,308 @@ public class BlockPipelineAction implements Action, StaplerProxy {
             return FormValidation.error("No Job '" + jobName + "' available");
         }
 
-        removeBlockPropertyFromJob(job);
-        return FormApply.success(".");
+        return submit(req, "unblockJob", operation -> removeBlockPropertyFromJob(job));
     }
 
     @RequirePOST
-    public HttpResponse doBlock(@NonNull StaplerRequest2 req) throws IOException, ServletException {
+    public HttpResponse doBlock(@NonNull StaplerRequest2 req) throws ServletException {
         checkPermission();
-        addBlockProperty(req.getSubmittedForm().getString("message").trim());
-        return FormApply.success(".");
+        final JSONObject form = req.getSubmittedForm();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty(form.getString("message").trim(), getCurrentUser().getFullName());
+        property.setCoalesce(form.optBoolean("coalesce"));
+        property.setIncludes(lines(form.optString("includes")));
+        property.setExcludes(lines(form.optString("excludes")));
+        final Long expiresAt = parseExpiry(form.optString("expiresIn"), Objects.requireNonNullElse(valueOrNull(ProjectBlockedProperty::getExpiresAt), 0L));
+
+        if (expiresAt == null) {
+            return invalidExpiry();
+        }
+        property.setExpiresAt(expiresAt);
+        property.setTriggers(Arrays.stream(TriggerCause.values()).filter(trigger -> form.optBoolean("trigger" + trigger.name())).toList());
+        property.setCategories(Arrays.stream(HeadCategory.values()).filter(category -> form.optBoolean("category" + category.name())).toList());
+
+        if (form.optBoolean("cancel")) {
+            project.checkPermission(Item.CANCEL);
+            final String userId = getCurrentUser().getId();
+            return submit(req, "blockAndCancel", operation -> {
+                addBlockProperty(property);
+                cancelBuilds(operation, findBuilds(property, userId));
+            });
+        }
+        return submit(req, "block", operation -> addBlockProperty(property));
     }
 
     @RequirePOST
-    public HttpResponse doUnblock(@NonNull StaplerRequest2 req) throws IOException {
+    public HttpResponse doUnblock(@NonNull StaplerRequest2 req) {
         checkPermission();
-        removeBlockProperty();
-        return FormApply.success(".");
+        final int drainRate;
+
+        try {
+            drainRate = Integer.parseInt(Objects.requireNonNullElse(Util.fixEmptyAndTrim(req.getParameter("drainRate")), "0"));
+        } catch (NumberFormatException e) {
+            return HttpResponses.errorWithoutStack(400, "Invalid drain rate");
+        }
+
+        if (drainRate < 0) {
+            return HttpResponses.errorWithoutStack(400, "Invalid drain rate");
+        }
+
+        return submit(req, "unblock", operation -> {
+            if (drainRate > 0) {
+                index.startDrain(project.getFullName(), drainRate);
+            }
+            removeBlockProperty();
+        });
     }
 
-    protected void addBlockProperty(@NonNull String message) throws IOException {
-        project.getProperties().replace(new ProjectBlockedProperty(message, getCurrentUser().getFullName()));
+    @RequirePOST
+    public HttpResponse doThrottle(@NonNull StaplerRequest2 req) throws ServletException {
+        checkPermission();
+        final int limit = req.getSubmittedForm().optInt("limit");
 
-        for (final Job<?, ?> job : project.getAllJobs()) {
-            addBlockPropertyToJob(job);
+        if (limit < 0) {
+            return HttpResponses.errorWithoutStack(400, "Invalid limit");
         }
+        return submit(req, "throttle", operation -> setThrottle(limit));
+    }
+
+    @RequirePOST
+    public HttpResponse doBlockJobs(@NonNull StaplerRequest2 req) throws IOException {
+        return submitBulk(req, true);
+    }
+
+    @RequirePOST
+    public HttpResponse doUnblockJobs(@NonNull StaplerRequest2 req) throws IOException {
+        return submitBulk(req, false);
+    }
+
+    public HttpResponse doJobs(@QueryParameter String after, @QueryParameter int limit, @QueryParameter String filter,
+                               @QueryParameter boolean blockedOnly, @QueryParameter String sort) {
+        checkPermission();
+        return HttpResponses.okJSON(listJobs(after, limit, filter, blockedOnly, sort));
+    }
+
+    @NonNull
+    JSONObject listJobs(@CheckForNull String after, int limit, @CheckForNull String filter, boolean blockedOnly, @CheckForNull String sort) {
+        final int count = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        final Comparator<String> names = "-name".equals(sort) ? NAME_ORDER.reversed() : NAME_ORDER;
+        final Comparator<WorkflowJob> order = Comparator.comparing(WorkflowJob::getName, names);
+        final String cursor = Util.fixEmpty(after);
+        final String needle = Util.fixEmptyAndTrim(filter) == null ? null : filter.trim().toLowerCase(Locale.ROOT);
+        final Set<String> blockedJobs = index.isReady() ? index.getBlockedJobs(project) : null;
+        final Predicate<WorkflowJob> blocked = job -> blockedJobs == null ? isBlocked(job) : blockedJobs.contains(job.getName());
+        final Stream<WorkflowJob> jobs = blockedOnly && blockedJobs != null
+                ? blockedJobs.stream().map(project::getJob).filter(Objects::nonNull)
+                : project.getItemsStream().filter(job -> !blockedOnly || blocked.test(job));
+        final PriorityQueue<WorkflowJob> window = new PriorityQueue<>(count + 2, order.reversed());
+
+        jobs.filter(job -> cursor == null || names.compare(job.getName(), cursor) > 0)
+                .filter(job -> needle == null || contains(job.getName(), needle) || contains(job.getDisplayName(), needle))
+                .forEach(job -> {
+                    window.add(job);
+                    if (window.size() > count + 1) {
+                        window.poll();
+                    }
+                });
+
+        final List<WorkflowJob> page = new ArrayList<>(window);
+        page.sort(order);
+        final JSONArray rows = new JSONArray();
+
+        for (int i = 0; i < Math.min(page.size(), count); ++i) {
+            final WorkflowJob job = page.get(i);
+            rows.add(new JSONObject()
+                    .element("name", job.getName())
+                    .element("displayName", job.getDisplayName())
+                    .element("blocked", blocked.test(job)));
+        }
+
+        final JSONObject result = new JSONObject()
+                .element("limit", count)
+                .element("more", page.size() > count)
+                .element("jobs", rows);
+
+        if (page.size() > count) {
+            result.element("next", page.get(count - 1).getName());
+        }
+        return result;
+    }
+
+    protected void addBlockProperty(@NonNull ProjectBlockedProperty property) throws IOException {
+        project.getProperties().replace(property);
+        index.updateProject(project);
+        audit(BlockEvent.Type.BLOCK, project.getFullName(), property.getMessage(), countJobs(property));
     }
 
     protected void removeBlockProperty() throws IOException {
+        final ProjectBlockedProperty property = getProperty();
         project.getProperties().remove(ProjectBlockedProperty.class);
+        index.updateProject(project);
 
-        for (final Job<?, ?> job : project.getAllJobs()) {
-            removeBlockPropertyFromJob(job);
+        if (property != null) {
+            audit(BlockEvent.Type.UNBLOCK, project.getFullName(), property.getMessage(), countJobs(property));
         }
     }
 
+    protected void setThrottle(int limit) throws IOException {
+        if (limit > 0) {
+            project.getProperties().replace(new ProjectThrottleProperty(limit));
+        } else {
+            project.getProperties().remove(ProjectThrottleProperty.class);
+        }
+        index.updateProject(project);
+    }
+
+    @NonNull
+    protected List<BuildCanceller.Target> findBuilds(@NonNull ProjectBlockedProperty property, @NonNull String userId) {
+        final Jenkins jenkins = Jenkins.get();
+        final Queue queue = jenkins.getQueue();
+        final List<BuildCanceller.Target> targets = new ArrayList<>();
+
+        for (final Queue.Item item : queue.getItems()) {
+            if (item.task instanceof WorkflowJob job && isCancelled(job, property, () -> TriggerCause.classify(item.getActions()))) {
+                targets.add(BuildCanceller.Target.queued(queue, job.getName(), item));
+            }
+        }
+
+        for (final Computer computer : jenkins.getComputers()) {
+            for (final Executor executor : computer.getAllExecutors()) {
+                if (executor.getCurrentExecutable() instanceof WorkflowRun run
+                        && isCancelled(run.getParent(), property, () -> TriggerCause.classify(run.getActions()))) {
+                    targets.add(BuildCanceller.Target.running(executor, run, userId));
+                }
+            }
+        }
+        return targets;
+    }
+
+    protected void cancelBuilds(@NonNull BlockOperation operation, @NonNull List<BuildCanceller.Target> targets) throws IOException {
+        BuildCanceller.get().cancel(operation, targets);
+    }
+
     protected void addBlockPropertyToJob(@NonNull Job<?, ?> job) throws IOException {
-        if (job.getProperty(JobBlockedProperty.class) == null) {
-            job.addProperty(new JobBlockedProperty());
+        addBlockPropertyToJob(job, 0);
+    }
+
+    protected void addBlockPropertyToJob(@NonNull Job<?, ?> job, long expiresAt) throws IOException {
+        final JobBlockedProperty existing = job.getProperty(JobBlockedProperty.class);
+
+        if (existing == null) {
+            final JobBlockedProperty property = new JobBlockedProperty();
+            property.setExpiresAt(expiresAt);
+            job.addProperty(property);
+            audit(BlockEvent.Type.BLOCK_JOB, job.getFullName(), null, 1);
+        } else if (existing.getExpiresAt() != expiresAt) {
+            existing.setExpiresAt(expiresAt);
+            job.save();
         }
+        index.updateJob(job);
     }
 
     protected void removeBlockPropertyFromJob(@NonNull Job<?, ?> job) throws IOException {
-        job.removeProperty(JobBlockedProperty.class);
+        final JobBlockedProperty property = job.removeProperty(JobBlockedProperty.class);
+        index.updateJob(job);
+
+        if (property != null) {
+            audit(BlockEvent.Type.UNBLOCK_JOB, job.getFullName(), null, 1);
+        }
     }
 
     @NonNull
-    protected User getCurrentUser() {
-        final User current = User.current();
-        return current == null ? User.getUnknown() : current;
+    private HttpResponse submitBulk(@NonNull StaplerRequest2 req, boolean block) throws IOException {
+        checkPermission();
+        final GlobMatcher matcher;
+
+        try {
+            final JSONArray jobs = JSONObject.fromObject(IOUtils.toString(req.getReader())).getJSONArray("jobs");
+            final List<String> patterns = new ArrayList<>();
+
+            for (final Object job : jobs) {
+                patterns.add(String.valueOf(job));
+            }
+            matcher = GlobMatcher.compile(patterns);
+        } catch (JSONException e) {
+            return HttpResponses.errorWithoutStack(400, "Expected a JSON object with a 'jobs' array: " + e.getMessage());
+        }
+
+        final Map<String, String> results = new TreeMap<>();
+        final Set<String> matched = new HashSet<>();
+        final List<WorkflowJob> changed = new ArrayList<>();
+
+        for (final WorkflowJob job : project.getItems()) {
+            final String name = job.getName();
+            final String decoded = NameEncoder.decode(name);
+
+            if (matcher.matches(name) || matcher.matches(decoded)) {
+                matched.add(name);
+                matched.add(decoded);
+
+                if (isBlocked(job) == block) {
+                    results.put(name, BulkResult.UNCHANGED.name());
+                } else {
+                    results.put(name, BulkResult.PENDING.name());
+                    changed.add(job);
+                }
+            }
+        }
+
+        for (final String literal : matcher.getLiterals()) {
+            if (!matched.contains(literal)) {
+                results.put(literal, BulkResult.NOT_FOUND.name());
+            }
+        }
+
+        final BlockOperation operation;
+
+        try {
+            operation = operations.submit(project.getFullName(), block ? "blockJobs" : "unblockJobs", op -> applyBulk(op, results, changed, block));
+        } catch (RejectedExecutionException e) {
+            return HttpResponses.errorWithoutStack(503, e.getMessage());
+        }
+        return HttpResponses.okJSON(new JSONObject().element("operation", operation.toJSON()).element("jobs", results));
     }
 
-    private void checkPermission() {
-        project.checkPermission(PERMISSION);
+    private void applyBulk(@NonNull BlockOperation operation, @NonNull Map<String, String> results,
+                           @NonNull List<WorkflowJob> jobs, boolean block) {
+        results.forEach(operation::setResult);
+        operation.setTotal(jobs.size());
+
+        for (final WorkflowJob job : jobs) {
+            try (BulkChange bulkChange = new BulkChange(job)) {
+                if (block) {
+                    addBlockPropertyToJob(job);
+                } else {
+                    removeBlockPropertyFromJob(job);
+                }
+                bulkChange.commit();
+                operation.setResult(job.getName(), (block ? BulkResult.BLOCKED : BulkResult.UNBLOCKED).name());
+            } catch (IOException e) {
+                operation.setResult(job.getName(), BulkResult.FAILED.name() + ": " + e.getMessage());
+            }
+            operation.progress();
+        }
     }
 
-    @CheckForNull
-    private ProjectBlockedProperty getProjectProperty() {
-        return project.getProperties().get(ProjectBlockedProperty.class);
+    private int countJobs(@NonNull ProjectBlockedProperty property) {
+        return (int) project.getItems().stream().filter(job -> index.blocks(property, job, null)).count();
     }
 
-    @CheckForNull
-    private <T> T valueOrNull(@NonNull Function<ProjectBlockedProperty, T> supplier) {
-        final ProjectBlockedProperty property = getProjectProperty();
-        return property == null ? null : supplier.apply(property);
+    private boolean isCancelled(@NonNull WorkflowJob job, @NonNull ProjectBlockedProperty property, @NonNull IntSupplier triggers) {
+        return job.getParent() == project && index.blocks(property, job, triggers);
+    }
+
+    @NonNull
+    private static List<String> lines(@NonNull String value) {
+        return Arrays.stream(value.split("\\R")).map(String::trim).filter(line -> !line.isEmpty()).toList();
+    }
+
+    private static boolean contains(@CheckForNull String value, @NonNull String lowerCasePart) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCasePart);
+    }
+
+
+    enum BulkResult {
+        PENDING, UNCHANGED, NOT_FOUND, BLOCKED, UNBLOCKED, CANCELLED, ABORTED, FAILED
     }
 
 }
@@ -24,6 +24,7 @@
 
 package io.jhnc.jenkins.plugins.workflow.queue;
 
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
@@ -31,25 +32,76 @@ import hudson.model.Job;
 import hudson.model.Queue;
 import hudson.model.queue.CauseOfBlockage;
 import hudson.model.queue.QueueTaskDispatcher;
-import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 
-@Extension
+@Extension(ordinal = -100)
 public class BlockPipelineQueueDispatcher extends QueueTaskDispatcher {
+    private final BlockIndex index;
+    private final BlockMetrics metrics;
+    private final RunningBuilds builds;
+
+    public BlockPipelineQueueDispatcher() {
+        this(BlockIndex.get(), BlockMetrics.get(), RunningBuilds.get());
+    }
+
+    BlockPipelineQueueDispatcher(@NonNull BlockIndex index, @NonNull BlockMetrics metrics, @NonNull RunningBuilds builds) {
+        this.index = index;
+        this.metrics = metrics;
+        this.builds = builds;
+    }
+
 
     @CheckForNull
     @Override
     public CauseOfBlockage canRun(Queue.Item item) {
         if (item.task instanceof Job<?, ?> job) {
-            if (isBlocked(job)) {
-                final ProjectBlockedProperty property = getProjectProperty(job);
-                return new JobBlockedCause(property == null ? null : property.getMessage());
+            final long start = System.nanoTime();
+            final CauseOfBlockage cause = getCause(item, job);
+            metrics.record(System.nanoTime() - start, cause != null);
+
+            if (cause != null) {
+                return cause;
             }
         }
         return super.canRun(item);
     }
 
-    private boolean isBlocked(@NonNull Job<?, ?> job) {
-        if (getProjectProperty(job) != null) {
+    @CheckForNull
+    private CauseOfBlockage getCause(@NonNull Queue.Item item, @NonNull Job<?, ?> job) {
+        final CauseOfBlockage frozen = job instanceof WorkflowJob ? index.getFreezeCause(job) : null;
+
+        if (frozen != null) {
+            return frozen;
+        }
+        if (index.isReady()) {
+            final CauseOfBlockage cause = index.getCause(job, () -> TriggerCause.classify(item.getActions()));
+
+            if (cause != null) {
+                return cause;
+            }
+            final CauseOfBlockage drainCause = index.getDrainCause(job, item.getId());
+
+            if (drainCause != null) {
+                return drainCause;
+            }
+            final ThrottledCause throttle = index.getThrottle(job);
+
+            if (throttle != null && !builds.tryAcquire(job.getParent().getFullName(), item.getId(), throttle.getLimit())) {
+                return throttle;
+            }
+            return null;
+        }
+        if (isBlocked(item, job)) {
+            final ProjectBlockedProperty property = getProjectProperty(job);
+            return new JobBlockedCause(property == null ? null : property.getMessage());
+        }
+        return null;
+    }
+
+    private boolean isBlocked(@NonNull Queue.Item item, @NonNull Job<?, ?> job) {
+        final ProjectBlockedProperty property = getProjectProperty(job);
+
+        if (property != null && index.blocks(property, job, () -> TriggerCause.classify(item.getActions()))) {
             return true;
         }
         return job.getProperty(JobBlockedProperty.class) != null;
@@ -57,8 +109,8 @@ public class BlockPipelineQueueDispatcher extends QueueTaskDispatcher {
 
     @CheckForNull
     private ProjectBlockedProperty getProjectProperty(@NonNull Job<?, ?> job) {
-        if (job.getParent() instanceof WorkflowMultiBranchProject) {
-            return ((WorkflowMultiBranchProject) job.getParent()).getProperties().get(ProjectBlockedProperty.class);
+        if (job.getParent() instanceof AbstractFolder<?> folder) {
+            return folder.getProperties().get(ProjectBlockedProperty.class);
         }
         return null;
     }
@@ -76,4 +128,34 @@ public class BlockPipelineQueueDispatcher extends QueueTaskDispatcher {
             return Messages.BlockPipelineQueueDispatcher_shortDescription() + (message == null ? "" : ": " + message);
         }
     }
+
+    public static class FrozenCause extends CauseOfBlockage {
+        private final String message;
+
+        public FrozenCause(@NonNull String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return Messages.BlockPipelineQueueDispatcher_frozen() + (message.isEmpty() ? "" : ": " + message);
+        }
+    }
+
+    public static class ThrottledCause extends CauseOfBlockage {
+        private final int limit;
+
+        public ThrottledCause(int limit) {
+            this.limit = limit;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return Messages.BlockPipelineQueueDispatcher_throttled(limit);
+        }
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.CauseAction;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.queue.QueueListener;
+
+@Extension
+public class BlockQueueListener extends QueueListener {
+    private final BlockIndex index;
+
+    public BlockQueueListener() {
+        this(BlockIndex.get());
+    }
+
+    BlockQueueListener(@NonNull BlockIndex index) {
+        this.index = index;
+    }
+
+
+    @Override
+    public void onEnterWaiting(Queue.WaitingItem wi) {
+        if (wi.task instanceof Job<?, ?> job && isCoalescing(job)) {
+            coalesce(Queue.getInstance(), wi);
+        }
+    }
+
+    boolean isCoalescing(@NonNull Job<?, ?> job) {
+        if (!index.isReady() || index.getCause(job) == null) {
+            return false;
+        }
+        final JobBlockedProperty jobProperty = job.getProperty(JobBlockedProperty.class);
+
+        if (jobProperty != null && jobProperty.isCoalesce()) {
+            return true;
+        }
+        final ProjectBlockedProperty projectProperty = job.getParent() instanceof AbstractFolder<?> folder
+                ? folder.getProperties().get(ProjectBlockedProperty.class) : null;
+        return projectProperty != null && projectProperty.isCoalesce();
+    }
+
+    static void coalesce(@NonNull Queue queue, @NonNull Queue.Item newest) {
+        for (final Queue.Item item : queue.getItems(newest.task)) {
+            if (item.getId() == newest.getId() || item instanceof Queue.BuildableItem) {
+                continue;
+            }
+            final CauseAction causes = getCauseAction(item);
+
+            if (causes != null) {
+                final CauseAction existing = getCauseAction(newest);
+
+                if (existing == null) {
+                    newest.addAction(new CauseAction(causes.getCauses()));
+                } else {
+                    existing.addCauses(causes.getCauses());
+                }
+            }
+            queue.cancel(item);
+        }
+    }
+
+    @CheckForNull
+    private static CauseAction getCauseAction(@NonNull Queue.Item item) {
+        for (final Action action : item.getActions()) {
+            if (action instanceof CauseAction causes) {
+                return causes;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.util.AtomicFileWriter;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BlockSnapshot {
+    private static final Logger LOGGER = Logger.getLogger(BlockSnapshot.class.getName());
+    private static final String HEADER = "# pipeline blocks v1";
+    private static final String PROJECT = "P";
+    private static final String JOB = "J";
+    private final File file;
+    private final Executor executor;
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    BlockSnapshot(@NonNull File file, @NonNull Executor executor) {
+        this.file = file;
+        this.executor = executor;
+    }
+
+    @Initializer(after = InitMilestone.PLUGINS_STARTED, before = InitMilestone.JOB_LOADED)
+    public static void restore() {
+        final BlockSnapshot snapshot = new BlockSnapshot(new File(Jenkins.get().getRootDir(), BlockSnapshot.class.getName() + ".txt"), Timer.get());
+        final BlockIndex index = BlockIndex.get();
+        index.restore(snapshot.read());
+        index.setSnapshot(snapshot);
+    }
+
+    public void save(@NonNull Collection<BlockSummary> blocks) {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pending.set(false);
+                write(blocks);
+            });
+        }
+    }
+
+    @CheckForNull
+    List<BlockSummary> read() {
+        final List<BlockSummary> blocks = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                LOGGER.log(Level.WARNING, "Ignoring block snapshot {0} with unknown format", file);
+                return null;
+            }
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                final BlockSummary summary = parse(line);
+
+                if (summary != null) {
+                    blocks.add(summary);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            LOGGER.log(Level.FINE, "No block snapshot at {0}", file);
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read the block snapshot " + file, e);
+            return null;
+        }
+        return blocks;
+    }
+
+    synchronized void write(@NonNull Collection<BlockSummary> blocks) {
+        try {
+            final AtomicFileWriter writer = new AtomicFileWriter(file.toPath(), StandardCharsets.UTF_8);
+
+            try {
+                writer.write(HEADER + "\n");
+
+                for (final BlockSummary block : blocks) {
+                    writer.write(format(block) + "\n");
+                }
+                writer.commit();
+            } finally {
+                writer.abort();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the block snapshot " + file, e);
+        }
+    }
+
+    @NonNull
+    static String format(@NonNull BlockSummary block) {
+        return String.join("\t", block.isJob() ? JOB : PROJECT, escape(block.getFullName()), Long.toString(block.getTimestampMillis()),
+                Long.toString(block.getExpiresAt()), escape(block.getUser() == null ? "" : block.getUser()), escape(block.getMessage()));
+    }
+
+    @CheckForNull
+    static BlockSummary parse(@NonNull String line) {
+        final String[] fields = line.split("\t", -1);
+
+        if (fields.length != 6 || !(PROJECT.equals(fields[0]) || JOB.equals(fields[0])) || fields[1].isEmpty()) {
+            return null;
+        }
+
+        try {
+            final String user = unescape(fields[4]);
+            return BlockSummary.of(unescape(fields[1]), JOB.equals(fields[0]), unescape(fields[5]), user.isEmpty() ? null : user,
+                    Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @NonNull
+    static String escape(@NonNull String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    @NonNull
+    static String unescape(@NonNull String value) {
+        final StringBuilder result = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+
+            if (c == '\\' && i + 1 < value.length()) {
+                final char next = value.charAt(++i);
+                result.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
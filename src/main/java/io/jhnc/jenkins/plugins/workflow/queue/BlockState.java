@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.ItemGroup;
+import hudson.model.queue.CauseOfBlockage;
+import jakarta.servlet.http.HttpServletResponse;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+public final class BlockState {
+    private static final long EPOCH = System.currentTimeMillis();
+
+    private BlockState() {
+    }
+
+    @NonNull
+    public static JSONObject toJSON(@NonNull BlockIndex index, @NonNull ItemGroup<?> project) {
+        final String fullName = project.getFullName();
+        final BlockSummary block = index.getBlock(fullName);
+        final CauseOfBlockage cause = index.getProjectCause(project);
+        final JSONObject result = new JSONObject()
+                .element("name", fullName)
+                .element("blocked", cause != null)
+                .element("frozen", index.isFrozen());
+
+        if (cause != null) {
+            result.element("cause", cause.getShortDescription());
+        }
+
+        if (block != null) {
+            result.element("message", block.getMessage())
+                    .element("user", block.getUser() == null ? "" : block.getUser())
+                    .element("timestamp", block.getTimestampMillis())
+                    .element("expiresAt", block.getExpiresAt());
+        }
+        return result.element("blockedJobs", JSONArray.fromObject(new TreeSet<>(index.getBlockedJobs(fullName))));
+    }
+
+    @NonNull
+    public static String etag(long version, @NonNull Collection<String> names) {
+        return etag(EPOCH, version, names);
+    }
+
+    @NonNull
+    static String etag(long epoch, long version, @NonNull Collection<String> names) {
+        return "\"" + Long.toHexString(epoch) + "-" + Long.toHexString(version) + "-"
+                + Integer.toHexString(String.join("\n", names).hashCode()) + "\"";
+    }
+
+    public static void write(@NonNull StaplerRequest2 req, @NonNull StaplerResponse2 rsp, @NonNull String etag,
+                             @NonNull Supplier<JSONObject> body) throws IOException {
+        rsp.setHeader("ETag", etag);
+        rsp.setHeader("Cache-Control", "private, no-cache");
+
+        if (matches(req.getHeader("If-None-Match"), etag)) {
+            rsp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        rsp.setContentType("application/json;charset=UTF-8");
+        rsp.getWriter().write(body.get().toString());
+    }
+
+    static boolean matches(@CheckForNull String header, @NonNull String etag) {
+        if (header == null) {
+            return false;
+        }
+
+        for (final String candidate : header.split(",")) {
+            final String value = candidate.trim();
+
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
+
+import java.util.Date;
+import java.util.Objects;
+
+public class BlockSummary {
+    private final String fullName;
+    private final boolean job;
+    private final String message;
+    private final String user;
+    private final long timestamp;
+    private final long expiresAt;
+
+    private BlockSummary(@NonNull String fullName, boolean job, @NonNull String message, @CheckForNull String user,
+                         long timestamp, long expiresAt) {
+        this.fullName = fullName;
+        this.job = job;
+        this.message = message;
+        this.user = user;
+        this.timestamp = timestamp;
+        this.expiresAt = expiresAt;
+    }
+
+    @NonNull
+    static BlockSummary of(@NonNull String fullName, boolean job, @NonNull String message, @CheckForNull String user,
+                           long timestamp, long expiresAt) {
+        return new BlockSummary(fullName, job, message, user, timestamp, expiresAt);
+    }
+
+    @NonNull
+    static BlockSummary of(@NonNull String fullName, @NonNull ProjectBlockedProperty property) {
+        return new BlockSummary(fullName, false, property.getMessage(), property.getUser(), property.getTimestamp().getTime(),
+                property.getExpiresAt());
+    }
+
+    @NonNull
+    static BlockSummary of(@NonNull String fullName, @NonNull JobBlockedProperty property) {
+        return new BlockSummary(fullName, true, "", null, 0, property.getExpiresAt());
+    }
+
+    @NonNull
+    public String getFullName() {
+        return fullName;
+    }
+
+    public boolean isJob() {
+        return job;
+    }
+
+    @NonNull
+    public String getMessage() {
+        return message;
+    }
+
+    @CheckForNull
+    public String getUser() {
+        return user;
+    }
+
+    @CheckForNull
+    public Date getTimestamp() {
+        return timestamp > 0 ? new Date(timestamp) : null;
+    }
+
+    @CheckForNull
+    public Date getExpiryDate() {
+        return expiresAt > 0 ? new Date(expiresAt) : null;
+    }
+
+    long getTimestampMillis() {
+        return timestamp;
+    }
+
+    long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @NonNull
+    public String getUrl() {
+        final StringBuilder url = new StringBuilder();
+
+        for (final String name : fullName.split("/")) {
+            url.append("job/").append(Util.rawEncode(name)).append('/');
+        }
+        return url.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlockSummary other)) {
+            return false;
+        }
+        return job == other.job && timestamp == other.timestamp && expiresAt == other.expiresAt && fullName.equals(other.fullName)
+                && message.equals(other.message) && Objects.equals(user, other.user);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fullName, job, message, user, timestamp, expiresAt);
+    }
+}
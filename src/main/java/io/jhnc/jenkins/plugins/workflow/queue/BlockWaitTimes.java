@@ -0,0 +1,285 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.listeners.ItemListener;
+import hudson.model.queue.QueueListener;
+import hudson.util.AtomicFileWriter;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class BlockWaitTimes {
+    private static final Logger LOGGER = Logger.getLogger(BlockWaitTimes.class.getName());
+    private static final String HEADER = "# pipeline block waits v1";
+    private static final int SLOTS = Integer.getInteger(BlockWaitTimes.class.getName() + ".hours", 168);
+    private static final long SAVE_DELAY = Long.getLong(BlockWaitTimes.class.getName() + ".saveDelay", 60L);
+    private static final BlockWaitTimes INSTANCE = new BlockWaitTimes(r -> Timer.get().schedule(r, SAVE_DELAY, TimeUnit.SECONDS));
+    private final Executor executor;
+    private final ConcurrentMap<Long, Wait> waiting = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, WaitStats> projects = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, WaitStats> jobs = new ConcurrentHashMap<>();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile File file;
+
+    BlockWaitTimes(@NonNull Executor executor) {
+        this.executor = executor;
+    }
+
+    @NonNull
+    public static BlockWaitTimes get() {
+        return INSTANCE;
+    }
+
+    @Initializer(after = InitMilestone.PLUGINS_STARTED, before = InitMilestone.JOB_LOADED)
+    public static void restore() {
+        get().load(new File(Jenkins.get().getRootDir(), BlockWaitTimes.class.getName() + ".txt"));
+    }
+
+    public void blocked(long itemId, @NonNull Job<?, ?> job, long now) {
+        waiting.computeIfAbsent(itemId, id -> new Wait(job, now));
+    }
+
+    public void released(long itemId, long now) {
+        final Wait wait = waiting.remove(itemId);
+
+        if (wait != null) {
+            record(wait.job.getParent().getFullName(), wait.job.getFullName(), now - wait.since, now);
+        }
+    }
+
+    public void discard(long itemId) {
+        waiting.remove(itemId);
+    }
+
+    public void record(@NonNull String project, @NonNull String job, long millis, long now) {
+        projects.computeIfAbsent(project, name -> new WaitStats(SLOTS)).record(millis, now);
+        jobs.computeIfAbsent(job, name -> new WaitStats(0)).record(millis, now);
+        save();
+    }
+
+    @CheckForNull
+    public WaitStats getProject(@NonNull String project) {
+        return projects.get(project);
+    }
+
+    @NonNull
+    public Map<String, WaitStats> getJobs(@NonNull String project) {
+        final Map<String, WaitStats> result = new TreeMap<>();
+        final String prefix = project + "/";
+
+        jobs.forEach((name, stats) -> {
+            if (name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0) {
+                result.put(name, stats);
+            }
+        });
+        return result;
+    }
+
+    @NonNull
+    public Map<String, WaitStats> getProjects() {
+        return new TreeMap<>(projects);
+    }
+
+    public void evict(@NonNull String fullName) {
+        final String prefix = fullName + "/";
+        projects.keySet().removeIf(name -> name.equals(fullName) || name.startsWith(prefix));
+        jobs.keySet().removeIf(name -> name.equals(fullName) || name.startsWith(prefix));
+        save();
+    }
+
+    public void rename(@NonNull String oldName, @NonNull String newName) {
+        move(projects, oldName, newName);
+        move(jobs, oldName, newName);
+        save();
+    }
+
+    int getWaiting() {
+        return waiting.size();
+    }
+
+    void load(@NonNull File source) {
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            if (HEADER.equals(reader.readLine())) {
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+                    parse(line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            LOGGER.log(Level.FINE, "No block wait times at {0}", source);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to read the block wait times " + source, e);
+        }
+        file = source;
+    }
+
+    synchronized void write() {
+        final File target = file;
+
+        if (target == null) {
+            return;
+        }
+
+        try {
+            final AtomicFileWriter writer = new AtomicFileWriter(target.toPath(), StandardCharsets.UTF_8);
+
+            try {
+                writer.write(HEADER + "\n");
+
+                for (final Map.Entry<String, WaitStats> entry : getProjects().entrySet()) {
+                    writer.write(BlockSnapshot.escape(entry.getKey()) + "\t" + entry.getValue().format() + "\n");
+                }
+                writer.commit();
+            } finally {
+                writer.abort();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to write the block wait times " + target, e);
+        }
+    }
+
+    private void save() {
+        if (file != null && pending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pending.set(false);
+                write();
+            });
+        }
+    }
+
+    private static void move(@NonNull ConcurrentMap<String, WaitStats> stats, @NonNull String oldName, @NonNull String newName) {
+        final String prefix = oldName + "/";
+
+        for (final String name : List.copyOf(stats.keySet())) {
+            if (name.equals(oldName) || name.startsWith(prefix)) {
+                final WaitStats moved = stats.remove(name);
+
+                if (moved != null) {
+                    stats.put(newName + name.substring(oldName.length()), moved);
+                }
+            }
+        }
+    }
+
+    private void parse(@NonNull String line) {
+        final String[] fields = line.split("\t", -1);
+
+        if (fields.length != 6 || fields[0].isEmpty()) {
+            return;
+        }
+        final String[] values = new String[fields.length - 1];
+        System.arraycopy(fields, 1, values, 0, values.length);
+        final WaitStats stats = new WaitStats(SLOTS);
+
+        try {
+            stats.parse(values);
+            projects.put(BlockSnapshot.unescape(fields[0]), stats);
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.FINE, "Skipping invalid block wait times: {0}", line);
+        }
+    }
+
+
+    private static final class Wait {
+        private final Job<?, ?> job;
+        private final long since;
+
+        private Wait(@NonNull Job<?, ?> job, long since) {
+            this.job = job;
+            this.since = since;
+        }
+    }
+
+
+    @Extension
+    public static class QueueListenerImpl extends QueueListener {
+        private final BlockWaitTimes waits;
+
+        public QueueListenerImpl() {
+            this(get());
+        }
+
+        QueueListenerImpl(@NonNull BlockWaitTimes waits) {
+            this.waits = waits;
+        }
+
+
+        @Override
+        public void onEnterBlocked(Queue.BlockedItem bi) {
+            if (bi.task instanceof Job<?, ?> job && bi.getCauseOfBlockage() instanceof BlockPipelineQueueDispatcher.JobBlockedCause) {
+                waits.blocked(bi.getId(), job, System.currentTimeMillis());
+            }
+        }
+
+        @Override
+        public void onEnterBuildable(Queue.BuildableItem bi) {
+            waits.released(bi.getId(), System.currentTimeMillis());
+        }
+
+        @Override
+        public void onLeft(Queue.LeftItem li) {
+            waits.discard(li.getId());
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+        @Override
+        public void onDeleted(Item item) {
+            get().evict(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            get().rename(oldFullName, newFullName);
+        }
+    }
+}
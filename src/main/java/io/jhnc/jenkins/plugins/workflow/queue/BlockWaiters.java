@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jenkins.util.Timer;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BlockWaiters {
+    private static final BlockWaiters INSTANCE = new BlockWaiters();
+    private final Set<WaitUntilUnblockedStep.Execution> waiting = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    BlockWaiters() {
+    }
+
+    @NonNull
+    public static BlockWaiters get() {
+        return INSTANCE;
+    }
+
+    public int size() {
+        return waiting.size();
+    }
+
+    public void wake() {
+        if (!waiting.isEmpty() && scheduled.compareAndSet(false, true)) {
+            Timer.get().submit(() -> {
+                scheduled.set(false);
+                recheck(BlockIndex.get());
+            });
+        }
+    }
+
+    void add(@NonNull WaitUntilUnblockedStep.Execution execution) {
+        waiting.add(execution);
+    }
+
+    boolean remove(@NonNull WaitUntilUnblockedStep.Execution execution) {
+        return waiting.remove(execution);
+    }
+
+    void recheck(@NonNull BlockIndex index) {
+        for (final WaitUntilUnblockedStep.Execution execution : waiting) {
+            if (!execution.isBlocked(index) && waiting.remove(execution)) {
+                execution.resume();
+            }
+        }
+    }
+}
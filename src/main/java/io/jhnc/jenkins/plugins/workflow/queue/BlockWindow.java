@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.scheduler.CronTab;
+import hudson.scheduler.Hash;
+import hudson.util.FormValidation;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import java.util.Calendar;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class BlockWindow extends AbstractDescribableImpl<BlockWindow> {
+    private final String spec;
+    private final int duration;
+    private final String message;
+
+    @DataBoundConstructor
+    public BlockWindow(@NonNull String spec, int duration, String message) {
+        this.spec = spec.trim();
+        this.duration = Math.max(1, duration);
+        this.message = Objects.requireNonNullElse(message, "").trim();
+    }
+
+    @NonNull
+    public String getSpec() {
+        return spec;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    @NonNull
+    public String getMessage() {
+        return message;
+    }
+
+    long[] getInterval(@NonNull String seed, long now) {
+        final CronTab tab = new CronTab(spec, Hash.from(seed));
+        final long length = TimeUnit.MINUTES.toMillis(duration);
+        final Calendar previous = tab.floor(now);
+
+        if (previous != null && previous.getTimeInMillis() + length > now) {
+            return new long[]{previous.getTimeInMillis(), previous.getTimeInMillis() + length};
+        }
+        final Calendar next = tab.ceil(now);
+        return new long[]{next.getTimeInMillis(), next.getTimeInMillis() + length};
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlockWindow other)) {
+            return false;
+        }
+        return duration == other.duration && spec.equals(other.spec) && message.equals(other.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(spec, duration, message);
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<BlockWindow> {
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.BlockWindow_displayName();
+        }
+
+        public FormValidation doCheckSpec(@QueryParameter String value) {
+            final CronTab tab;
+
+            try {
+                tab = new CronTab(Objects.requireNonNullElse(value, "").trim());
+            } catch (IllegalArgumentException e) {
+                return FormValidation.error(e.getMessage());
+            }
+            try {
+                tab.ceil(System.currentTimeMillis());
+                return FormValidation.ok();
+            } catch (RuntimeException e) {
+                return FormValidation.error(Messages.BlockWindow_impossibleSpec());
+            }
+        }
+
+        public FormValidation doCheckDuration(@QueryParameter int value) {
+            return value > 0 ? FormValidation.ok() : FormValidation.error(Messages.BlockWindow_invalidDuration());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jenkins.branch.NameEncoder;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class BranchFilter {
+    private static final int MAX_CACHED = 10_000;
+    private final GlobMatcher includes;
+    private final GlobMatcher excludes;
+    private final ConcurrentMap<String, Boolean> results = new ConcurrentHashMap<>();
+
+    private BranchFilter(@NonNull GlobMatcher includes, @NonNull GlobMatcher excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    @CheckForNull
+    public static BranchFilter of(@NonNull Collection<String> includes, @NonNull Collection<String> excludes) {
+        final GlobMatcher includeMatcher = GlobMatcher.compile(includes);
+        final GlobMatcher excludeMatcher = GlobMatcher.compile(excludes);
+
+        if (includeMatcher.isEmpty() && excludeMatcher.isEmpty()) {
+            return null;
+        }
+        return new BranchFilter(includeMatcher, excludeMatcher);
+    }
+
+    public boolean matches(@NonNull String jobName) {
+        final Boolean cached = results.get(jobName);
+
+        if (cached != null) {
+            return cached;
+        }
+        final boolean result = evaluate(jobName);
+
+        if (results.size() >= MAX_CACHED) {
+            results.clear();
+        }
+        results.putIfAbsent(jobName, result);
+        return result;
+    }
+
+    public void evict(@NonNull String jobName) {
+        results.remove(jobName);
+    }
+
+    int getCached() {
+        return results.size();
+    }
+
+    private boolean evaluate(@NonNull String jobName) {
+        final String branch = NameEncoder.decode(jobName);
+        final boolean included = includes.isEmpty() || includes.matches(jobName) || includes.matches(branch);
+        return included && !excludes.matches(jobName) && !excludes.matches(branch);
+    }
+}
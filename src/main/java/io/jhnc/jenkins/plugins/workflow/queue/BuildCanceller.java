@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Executor;
+import hudson.model.Queue;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import jenkins.model.CauseOfInterruption;
+import jenkins.model.Jenkins;
+import org.springframework.security.core.Authentication;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+public class BuildCanceller {
+    private static final int THREADS = Integer.getInteger(BuildCanceller.class.getName() + ".threads", 4);
+    private static final BuildCanceller INSTANCE = new BuildCanceller(Executors.newFixedThreadPool(THREADS,
+            new NamingThreadFactory(new DaemonThreadFactory(), BuildCanceller.class.getSimpleName())));
+    private final ExecutorService executor;
+
+    BuildCanceller(@NonNull ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @NonNull
+    public static BuildCanceller get() {
+        return INSTANCE;
+    }
+
+    public void cancel(@NonNull BlockOperation operation, @NonNull List<Target> targets) throws IOException {
+        final Authentication authentication = Jenkins.getAuthentication2();
+        final List<Future<?>> futures = new ArrayList<>(targets.size());
+        operation.setTotal(targets.size());
+
+        for (final Target target : targets) {
+            operation.setResult(target.name, BlockPipelineAction.BulkResult.PENDING.name());
+            futures.add(executor.submit(() -> run(operation, target, authentication)));
+        }
+
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while cancelling builds");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    private static void run(@NonNull BlockOperation operation, @NonNull Target target, @NonNull Authentication authentication) {
+        try (ACLContext ignored = ACL.as2(authentication)) {
+            operation.setResult(target.name, target.action.get().name());
+        } catch (RuntimeException e) {
+            operation.setResult(target.name, BlockPipelineAction.BulkResult.FAILED.name() + ": " + e.getMessage());
+        }
+        operation.progress();
+    }
+
+
+    public static final class Target {
+        private final String name;
+        private final Supplier<BlockPipelineAction.BulkResult> action;
+
+        private Target(@NonNull String name, @NonNull Supplier<BlockPipelineAction.BulkResult> action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        @NonNull
+        public static Target queued(@NonNull Queue queue, @NonNull String jobName, @NonNull Queue.Item item) {
+            return new Target(jobName + " (queue item " + item.getId() + ")", () -> queue.cancel(item)
+                    ? BlockPipelineAction.BulkResult.CANCELLED : BlockPipelineAction.BulkResult.UNCHANGED);
+        }
+
+        @NonNull
+        public static Target running(@NonNull Executor executor, @NonNull Run<?, ?> run, @NonNull String userId) {
+            return new Target(run.getParent().getName() + " #" + run.getNumber(), () -> {
+                if (executor.getCurrentExecutable() != run) {
+                    return BlockPipelineAction.BulkResult.UNCHANGED;
+                }
+                executor.interrupt(Result.ABORTED, new CauseOfInterruption.UserInterruption(userId));
+                return BlockPipelineAction.BulkResult.ABORTED;
+            });
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+    }
+}
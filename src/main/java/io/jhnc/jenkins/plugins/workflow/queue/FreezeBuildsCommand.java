@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.Extension;
+import hudson.cli.CLICommand;
+import hudson.model.User;
+import jenkins.model.Jenkins;
+import org.kohsuke.args4j.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Extension
+public class FreezeBuildsCommand extends CLICommand {
+    @Option(name = "-m", aliases = "--message", usage = "Message shown for the blocked builds")
+    public String message = "";
+
+    @Option(name = "-a", aliases = "--allow", usage = "Full job name or pattern which keeps building, may be repeated")
+    public List<String> allowed = new ArrayList<>();
+
+    @Override
+    public String getShortDescription() {
+        return Messages.FreezeBuildsCommand_shortDescription();
+    }
+
+    @Override
+    protected int run() {
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+        final User current = User.current();
+        GlobalFreeze.get().freeze(message.trim(), allowed, (current == null ? User.getUnknown() : current).getFullName());
+        return 0;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class GlobMatcher {
+    private static final GlobMatcher EMPTY = new GlobMatcher(Set.of(), new String[0]);
+    private final Set<String> literals;
+    private final String[] globs;
+
+    private GlobMatcher(@NonNull Set<String> literals, @NonNull String[] globs) {
+        this.literals = literals;
+        this.globs = globs;
+    }
+
+    @NonNull
+    public static GlobMatcher compile(@NonNull Collection<String> patterns) {
+        final Set<String> literals = new HashSet<>();
+        final List<String> globs = new ArrayList<>();
+
+        for (final String pattern : patterns) {
+            final String trimmed = pattern.trim();
+
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (isGlob(trimmed)) {
+                globs.add(trimmed);
+            } else {
+                literals.add(trimmed);
+            }
+        }
+
+        if (literals.isEmpty() && globs.isEmpty()) {
+            return EMPTY;
+        }
+        return new GlobMatcher(Set.copyOf(literals), globs.toArray(new String[0]));
+    }
+
+    public boolean isEmpty() {
+        return literals.isEmpty() && globs.length == 0;
+    }
+
+    @NonNull
+    public Set<String> getLiterals() {
+        return literals;
+    }
+
+    public boolean matches(@NonNull String name) {
+        if (literals.contains(name)) {
+            return true;
+        }
+        for (final String glob : globs) {
+            if (matches(glob, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isGlob(@NonNull String pattern) {
+        return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0;
+    }
+
+    static boolean matches(@NonNull String glob, @NonNull String name) {
+        int g = 0;
+        int n = 0;
+        int star = -1;
+        int mark = 0;
+
+        while (n < name.length()) {
+            final char c = g < glob.length() ? glob.charAt(g) : 0;
+
+            if (c == '*') {
+                star = g++;
+                mark = n;
+            } else if (g < glob.length() && (c == '?' || c == name.charAt(n))) {
+                ++g;
+                ++n;
+            } else if (star >= 0) {
+                g = star + 1;
+                n = ++mark;
+            } else {
+                return false;
+            }
+        }
+
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            ++g;
+        }
+        return g == glob.length();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.Queue;
+import hudson.model.User;
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.StaplerRequest2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+@Extension
+public class GlobalFreeze extends GlobalConfiguration {
+    private boolean frozen;
+    private String message = "";
+    private String user;
+    private Date timestamp;
+    private List<String> allowed = new ArrayList<>();
+
+    public GlobalFreeze() {
+        load();
+        publish();
+    }
+
+    @NonNull
+    public static GlobalFreeze get() {
+        return ExtensionList.lookupSingleton(GlobalFreeze.class);
+    }
+
+    @NonNull
+    @Override
+    public String getDisplayName() {
+        return Messages.GlobalFreeze_displayName();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @NonNull
+    public String getMessage() {
+        return Objects.requireNonNullElse(message, "");
+    }
+
+    @CheckForNull
+    public String getUser() {
+        return user;
+    }
+
+    @CheckForNull
+    public Date getTimestamp() {
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+
+    @NonNull
+    public List<String> getAllowed() {
+        return allowed == null ? Collections.emptyList() : Collections.unmodifiableList(allowed);
+    }
+
+    @NonNull
+    public String getAllowedText() {
+        return String.join("\n", getAllowed());
+    }
+
+    public synchronized void freeze(@NonNull String message, @NonNull Collection<String> allowed, @NonNull String user) {
+        this.frozen = true;
+        this.message = message;
+        this.allowed = new ArrayList<>(allowed);
+        this.user = user;
+        this.timestamp = new Date();
+        save();
+        publish();
+        audit(BlockEvent.Type.FREEZE, message);
+    }
+
+    public synchronized void unfreeze() {
+        this.frozen = false;
+        this.user = null;
+        this.timestamp = null;
+        save();
+        publish();
+        audit(BlockEvent.Type.UNFREEZE, null);
+    }
+
+    @Override
+    public boolean configure(StaplerRequest2 req, JSONObject json) {
+        final String newMessage = json.optString("message").trim();
+        final List<String> newAllowed = Arrays.stream(json.optString("allowed").split("\\R"))
+                .map(String::trim).filter(line -> !line.isEmpty()).toList();
+
+        if (json.optBoolean("frozen")) {
+            if (frozen && getMessage().equals(newMessage) && getAllowed().equals(newAllowed)) {
+                return true;
+            }
+            final User current = User.current();
+            freeze(newMessage, newAllowed, (current == null ? User.getUnknown() : current).getFullName());
+        } else if (frozen) {
+            unfreeze();
+        }
+        return true;
+    }
+
+    private void publish() {
+        BlockIndex.get().setFreeze(frozen ? getMessage() : null, getAllowed());
+    }
+
+    private void audit(@NonNull BlockEvent.Type type, @CheckForNull String message) {
+        BlockAudit.get().record(new BlockEvent(System.currentTimeMillis(), type, null, Jenkins.getAuthentication2().getName(), message, 0));
+        Queue.getInstance().scheduleMaintenance();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Item;
+import hudson.model.Job;
+import jenkins.scm.api.SCMHead;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+public class HeadCategories {
+    private final ConcurrentMap<String, HeadCategory> categories = new ConcurrentHashMap<>();
+    private final Function<Item, SCMHead> resolver;
+
+    HeadCategories() {
+        this(SCMHead.HeadByItem::findHead);
+    }
+
+    HeadCategories(@NonNull Function<Item, SCMHead> resolver) {
+        this.resolver = resolver;
+    }
+
+    @NonNull
+    public HeadCategory getCategory(@NonNull Job<?, ?> job) {
+        final String fullName = job.getFullName();
+        final HeadCategory cached = categories.get(fullName);
+
+        if (cached != null) {
+            return cached;
+        }
+        final HeadCategory category = HeadCategory.of(resolver.apply(job));
+        categories.put(fullName, category);
+        return category;
+    }
+
+    void evict(@NonNull String fullName) {
+        final String prefix = fullName + "/";
+        categories.keySet().removeIf(name -> name.equals(fullName) || name.startsWith(prefix));
+    }
+
+    void clear() {
+        categories.clear();
+    }
+
+    int size() {
+        return categories.size();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.mixin.ChangeRequestSCMHead;
+import jenkins.scm.api.mixin.TagSCMHead;
+
+import java.util.Collection;
+
+public enum HeadCategory {
+    BRANCH,
+    CHANGE_REQUEST,
+    TAG;
+
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    @NonNull
+    public String getDisplayName() {
+        return switch (this) {
+            case BRANCH -> Messages.HeadCategory_branch();
+            case CHANGE_REQUEST -> Messages.HeadCategory_changeRequest();
+            case TAG -> Messages.HeadCategory_tag();
+        };
+    }
+
+    @NonNull
+    public static HeadCategory of(@CheckForNull SCMHead head) {
+        if (head instanceof ChangeRequestSCMHead) {
+            return CHANGE_REQUEST;
+        }
+        if (head instanceof TagSCMHead) {
+            return TAG;
+        }
+        return BRANCH;
+    }
+
+    public static int mask(@NonNull Collection<HeadCategory> categories) {
+        int mask = 0;
+
+        for (final HeadCategory category : categories) {
+            mask |= category.getMask();
+        }
+        return mask;
+    }
+}
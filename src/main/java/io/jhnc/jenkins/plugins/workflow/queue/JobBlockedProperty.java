@@ -26,15 +26,50 @@ package io.jhnc.jenkins.plugins.workflow.queue;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.model.Descriptor;
 import hudson.model.Job;
+import hudson.model.JobProperty;
 import jenkins.model.OptionalJobProperty;
+import net.sf.json.JSONObject;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.StaplerRequest2;
 
 public class JobBlockedProperty extends OptionalJobProperty<Job<?, ?>> {
+    private boolean coalesce;
+    private long expiresAt;
+
     @DataBoundConstructor
     public JobBlockedProperty() {
     }
 
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    @DataBoundSetter
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public JobProperty<?> reconfigure(StaplerRequest2 req, JSONObject form) throws Descriptor.FormException {
+        final JobProperty<?> property = super.reconfigure(req, form);
+
+        if (property instanceof JobBlockedProperty blocked) {
+            blocked.setExpiresAt(expiresAt);
+        }
+        return property;
+    }
+
 
     @Extension
     public static class DescriptorImpl extends OptionalJobPropertyDescriptor {
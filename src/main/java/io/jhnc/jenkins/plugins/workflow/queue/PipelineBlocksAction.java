@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Queue;
+import hudson.model.RootAction;
+import hudson.util.HttpResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import jenkins.branch.MultiBranchProject;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+@Extension
+public class PipelineBlocksAction implements RootAction {
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Pipeline Blocks";
+    }
+
+    @Override
+    public String getUrlName() {
+        return "pipeline-blocks";
+    }
+
+    public HttpResponse doHistory(@QueryParameter int limit) {
+        Jenkins.get().checkPermission(Jenkins.SYSTEM_READ);
+        final JSONArray events = new JSONArray();
+
+        for (final BlockEvent event : BlockAudit.get().getEvents(e -> true, limit > 0 ? limit : Integer.MAX_VALUE)) {
+            events.add(event.toJSON());
+        }
+        return HttpResponses.okJSON(new JSONObject().element("events", events));
+    }
+
+    public void doState(@NonNull StaplerRequest2 req, @NonNull StaplerResponse2 rsp) throws IOException {
+        final String[] requested = req.getParameterValues("project");
+
+        if (requested == null || requested.length == 0) {
+            rsp.sendError(HttpServletResponse.SC_BAD_REQUEST, "No projects given");
+            return;
+        }
+        final Jenkins jenkins = Jenkins.get();
+        final BlockIndex index = BlockIndex.get();
+        final long version = index.getVersion();
+        final List<String> names = new ArrayList<>();
+        final List<MultiBranchProject<?, ?>> readable = new ArrayList<>();
+
+        for (final String name : new TreeSet<>(Arrays.asList(requested))) {
+            final MultiBranchProject<?, ?> project = jenkins.getItemByFullName(name, MultiBranchProject.class);
+
+            if (project != null && project.hasPermission(Item.CONFIGURE)) {
+                names.add(name);
+                readable.add(project);
+            }
+        }
+        BlockState.write(req, rsp, BlockState.etag(version, names), () -> {
+            final JSONObject projects = new JSONObject();
+            readable.forEach(project -> projects.element(project.getFullName(), BlockState.toJSON(index, project)));
+            return new JSONObject().element("projects", projects);
+        });
+    }
+
+    public void doEvents(@NonNull StaplerRequest2 req, @NonNull StaplerResponse2 rsp) throws IOException {
+        Jenkins.get().checkPermission(Jenkins.SYSTEM_READ);
+        BlockEventStream.get().subscribe(req, rsp, event -> true);
+    }
+
+    public HttpResponse doWaits() {
+        Jenkins.get().checkPermission(Jenkins.SYSTEM_READ);
+        final long now = System.currentTimeMillis();
+        final JSONObject projects = new JSONObject();
+
+        BlockWaitTimes.get().getProjects().forEach((name, stats) -> projects.element(name, stats.toJSON(now)));
+        return HttpResponses.okJSON(new JSONObject().element("projects", projects));
+    }
+
+    public HttpResponse doMetrics() {
+        Jenkins.get().checkPermission(Jenkins.SYSTEM_READ);
+        return HttpResponses.okJSON(BlockMetrics.get().toJSON(Queue.getInstance().getItems()));
+    }
+}
@@ -24,24 +24,52 @@
 
 package io.jhnc.jenkins.plugins.workflow.queue;
 
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
 import com.cloudbees.hudson.plugins.folder.AbstractFolderProperty;
 import com.cloudbees.hudson.plugins.folder.AbstractFolderPropertyDescriptor;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
-public class ProjectBlockedProperty extends AbstractFolderProperty<WorkflowMultiBranchProject> {
+public class ProjectBlockedProperty extends AbstractFolderProperty<AbstractFolder<?>> {
+    private static final Logger LOGGER = Logger.getLogger(ProjectBlockedProperty.class.getName());
     private String message;
     private Date timestamp;
     private String user;
+    private boolean inherited;
+    private boolean coalesce;
+    private long expiresAt;
+    private List<String> includes = new ArrayList<>();
+    private List<String> excludes = new ArrayList<>();
+    private List<TriggerCause> triggers = new ArrayList<>();
+    private transient int triggerMask;
+    private List<HeadCategory> categories = new ArrayList<>();
+    private transient int categoryMask;
+    private transient volatile BranchFilter filter;
 
     public ProjectBlockedProperty(@NonNull String message, @NonNull String user) {
         this.message = message;
         this.timestamp = new Date();
         this.user = user;
+        this.inherited = true;
     }
 
     @NonNull
@@ -59,14 +87,145 @@ public class ProjectBlockedProperty extends AbstractFolderProperty<WorkflowMulti
         return user;
     }
 
+    public boolean isInherited() {
+        return inherited;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @CheckForNull
+    public Date getExpiryDate() {
+        return expiresAt > 0 ? new Date(expiresAt) : null;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @NonNull
+    public List<String> getIncludes() {
+        return Collections.unmodifiableList(includes);
+    }
+
+    public void setIncludes(@NonNull Collection<String> includes) {
+        this.includes = new ArrayList<>(includes);
+        this.filter = null;
+    }
+
+    @NonNull
+    public List<String> getExcludes() {
+        return Collections.unmodifiableList(excludes);
+    }
+
+    public void setExcludes(@NonNull Collection<String> excludes) {
+        this.excludes = new ArrayList<>(excludes);
+        this.filter = null;
+    }
+
+    @CheckForNull
+    public BranchFilter getFilter() {
+        if (filter == null && !(includes.isEmpty() && excludes.isEmpty())) {
+            filter = BranchFilter.of(includes, excludes);
+        }
+        return filter;
+    }
+
+    public boolean appliesTo(@NonNull String jobName) {
+        final BranchFilter branchFilter = getFilter();
+        return branchFilter == null || branchFilter.matches(jobName);
+    }
+
+    @NonNull
+    public List<TriggerCause> getTriggers() {
+        return Collections.unmodifiableList(triggers);
+    }
+
+    public void setTriggers(@NonNull Collection<TriggerCause> triggers) {
+        this.triggers = new ArrayList<>(triggers);
+        this.triggerMask = TriggerCause.mask(triggers);
+    }
+
+    public int getTriggerMask() {
+        return triggerMask;
+    }
+
+    public boolean blocksTriggers(int itemMask) {
+        return triggerMask == 0 || (itemMask & ~triggerMask) == 0;
+    }
+
+    @NonNull
+    public List<HeadCategory> getCategories() {
+        return Collections.unmodifiableList(categories);
+    }
+
+    public void setCategories(@NonNull Collection<HeadCategory> categories) {
+        this.categories = new ArrayList<>(categories);
+        this.categoryMask = HeadCategory.mask(categories);
+    }
+
+    public int getCategoryMask() {
+        return categoryMask;
+    }
+
+    public boolean blocksCategory(@NonNull HeadCategory category) {
+        return categoryMask == 0 || (category.getMask() & categoryMask) != 0;
+    }
+
     @NonNull
     protected Object readResolve() {
         message = Objects.requireNonNullElse(message, "");
         timestamp = Objects.requireNonNullElse(timestamp, new Date(0));
         user = Objects.requireNonNullElse(user, "");
+        includes = Objects.requireNonNullElseGet(includes, ArrayList::new);
+        excludes = Objects.requireNonNullElseGet(excludes, ArrayList::new);
+        triggers = Objects.requireNonNullElseGet(triggers, ArrayList::new);
+        triggerMask = TriggerCause.mask(triggers);
+        categories = Objects.requireNonNullElseGet(categories, ArrayList::new);
+        categoryMask = HeadCategory.mask(categories);
         return this;
     }
 
+    @Initializer(after = InitMilestone.JOB_CONFIG_ADAPTED)
+    public static void migrateJobProperties() {
+        Timer.get().execute(() -> {
+            try (ACLContext ignored = ACL.as2(ACL.SYSTEM2)) {
+                for (final WorkflowMultiBranchProject project : Jenkins.get().allItems(WorkflowMultiBranchProject.class)) {
+                    migrateJobProperties(project);
+                }
+            }
+        });
+    }
+
+    static void migrateJobProperties(@NonNull WorkflowMultiBranchProject project) {
+        final ProjectBlockedProperty property = project.getProperties().get(ProjectBlockedProperty.class);
+
+        if (property == null || property.inherited) {
+            return;
+        }
+
+        try {
+            for (final WorkflowJob job : project.getItems()) {
+                if (job.getProperty(JobBlockedProperty.class) != null) {
+                    job.removeProperty(JobBlockedProperty.class);
+                }
+            }
+            property.inherited = true;
+            project.save();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to migrate blocked jobs of " + project.getFullName(), e);
+        }
+    }
+
 
     @Extension
     public static class DescriptorImpl extends AbstractFolderPropertyDescriptor {
@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import hudson.model.queue.QueueListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RunningBuilds {
+    private static final RunningBuilds INSTANCE = new RunningBuilds();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    RunningBuilds() {
+    }
+
+    @NonNull
+    public static RunningBuilds get() {
+        return INSTANCE;
+    }
+
+    public int getRunning(@NonNull String project) {
+        final Counter counter = counters.get(project);
+        return counter == null ? 0 : counter.used.get();
+    }
+
+    public boolean tryAcquire(@NonNull String project, long itemId, int limit) {
+        final Counter counter = counter(project);
+
+        if (counter.reserved.contains(itemId)) {
+            return true;
+        }
+        for (int used = counter.used.get(); used < limit; used = counter.used.get()) {
+            if (counter.used.compareAndSet(used, used + 1)) {
+                if (!counter.reserved.add(itemId)) {
+                    counter.used.decrementAndGet();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void started(@NonNull String project, long queueId, @NonNull String runId) {
+        final Counter counter = counter(project);
+
+        if (counter.running.add(runId) && !counter.reserved.remove(queueId)) {
+            counter.used.incrementAndGet();
+        }
+    }
+
+    public void finished(@NonNull String project, @NonNull String runId) {
+        final Counter counter = counters.get(project);
+
+        if (counter != null && counter.running.remove(runId)) {
+            counter.used.decrementAndGet();
+        }
+    }
+
+    public void cancelled(@NonNull String project, long itemId) {
+        final Counter counter = counters.get(project);
+
+        if (counter != null && counter.reserved.remove(itemId)) {
+            counter.used.decrementAndGet();
+        }
+    }
+
+    public void seed(@NonNull Iterable<? extends Item> items) {
+        for (final Item item : items) {
+            if (!(item instanceof Job<?, ?> job)) {
+                continue;
+            }
+            for (Run<?, ?> run = firstInProgress(job.getLastBuild()); run != null; run = run.getPreviousBuildInProgress()) {
+                started(job.getParent().getFullName(), run.getQueueId(), run.getExternalizableId());
+            }
+        }
+    }
+
+    public void remove(@NonNull String project) {
+        final String prefix = project + "/";
+        counters.keySet().removeIf(name -> name.equals(project) || name.startsWith(prefix));
+    }
+
+    public void rename(@NonNull String oldName, @NonNull String newName) {
+        final String prefix = oldName + "/";
+
+        for (final String name : List.copyOf(counters.keySet())) {
+            if (name.equals(oldName) || name.startsWith(prefix)) {
+                final Counter counter = counters.remove(name);
+
+                if (counter != null) {
+                    counters.put(newName + name.substring(oldName.length()), counter);
+                }
+            }
+        }
+    }
+
+    @NonNull
+    private Counter counter(@NonNull String project) {
+        final Counter counter = counters.get(project);
+        return counter != null ? counter : counters.computeIfAbsent(project, name -> new Counter());
+    }
+
+    @CheckForNull
+    private static Run<?, ?> firstInProgress(@CheckForNull Run<?, ?> last) {
+        return last == null || last.isBuilding() ? last : last.getPreviousBuildInProgress();
+    }
+
+
+    private static final class Counter {
+        private final AtomicInteger used = new AtomicInteger();
+        private final Set<String> running = ConcurrentHashMap.newKeySet();
+        private final Set<Long> reserved = ConcurrentHashMap.newKeySet();
+    }
+
+
+    @Extension
+    public static class RunListenerImpl extends RunListener<Run<?, ?>> {
+        @Override
+        public void onStarted(Run<?, ?> run, TaskListener listener) {
+            get().started(run.getParent().getParent().getFullName(), run.getQueueId(), run.getExternalizableId());
+        }
+
+        @Override
+        public void onFinalized(Run<?, ?> run) {
+            get().finished(run.getParent().getParent().getFullName(), run.getExternalizableId());
+        }
+    }
+
+    @Extension
+    public static class QueueListenerImpl extends QueueListener {
+        @Override
+        public void onEnterWaiting(Queue.WaitingItem wi) {
+            release(wi);
+        }
+
+        @Override
+        public void onEnterBlocked(Queue.BlockedItem bi) {
+            release(bi);
+        }
+
+        @Override
+        public void onLeft(Queue.LeftItem li) {
+            if (li.isCancelled()) {
+                release(li);
+            }
+        }
+
+        private static void release(@NonNull Queue.Item item) {
+            if (item.task instanceof Job<?, ?> job) {
+                get().cancelled(job.getParent().getFullName(), item.getId());
+            }
+        }
+    }
+
+    @Extension
+    public static class ItemListenerImpl extends ItemListener {
+        @Override
+        public void onDeleted(Item item) {
+            get().remove(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+            get().rename(oldFullName, newFullName);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.queue.CauseOfBlockage;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class ScheduledBlock {
+    private static final Logger LOGGER = Logger.getLogger(ScheduledBlock.class.getName());
+    private final List<BlockWindow> windows;
+    private final long from;
+    private final long until;
+    private final CauseOfBlockage cause;
+    private volatile Future<?> transition;
+
+    private ScheduledBlock(@NonNull List<BlockWindow> windows, long from, long until, @NonNull String message) {
+        this.windows = windows;
+        this.from = from;
+        this.until = until;
+        this.cause = new BlockPipelineQueueDispatcher.JobBlockedCause(message.isEmpty() ? null : message);
+    }
+
+    @CheckForNull
+    static ScheduledBlock compute(@NonNull String project, @NonNull List<BlockWindow> windows, long now) {
+        BlockWindow selected = null;
+        long[] selectedInterval = null;
+
+        for (final BlockWindow window : windows) {
+            final long[] interval;
+
+            try {
+                interval = window.getInterval(project, now);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Invalid block window '" + window.getSpec() + "' of " + project, e);
+                continue;
+            }
+
+            if (selectedInterval == null || isBefore(interval, selectedInterval, now)) {
+                selected = window;
+                selectedInterval = interval;
+            }
+        }
+        return selected == null ? null : new ScheduledBlock(windows, selectedInterval[0], selectedInterval[1], selected.getMessage());
+    }
+
+    @NonNull
+    public Date getFrom() {
+        return new Date(from);
+    }
+
+    @NonNull
+    public Date getUntil() {
+        return new Date(until);
+    }
+
+    public boolean isActive(long now) {
+        return from <= now && now < until;
+    }
+
+    @NonNull
+    List<BlockWindow> getWindows() {
+        return windows;
+    }
+
+    long getUntilMillis() {
+        return until;
+    }
+
+    @NonNull
+    CauseOfBlockage getCause() {
+        return cause;
+    }
+
+    void setTransition(@CheckForNull Future<?> transition) {
+        this.transition = transition;
+    }
+
+    void cancel() {
+        final Future<?> current = transition;
+
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    private static boolean isBefore(@NonNull long[] interval, @NonNull long[] other, long now) {
+        final boolean active = interval[0] <= now;
+        final boolean otherActive = other[0] <= now;
+
+        if (active != otherActive) {
+            return active;
+        }
+        return active ? interval[1] > other[1] : interval[0] < other[0];
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Action;
+import hudson.model.Cause;
+import hudson.model.CauseAction;
+import hudson.triggers.SCMTrigger;
+import hudson.triggers.TimerTrigger;
+import jenkins.branch.BranchEventCause;
+import jenkins.branch.BranchIndexingCause;
+
+import java.util.Collection;
+
+public enum TriggerCause {
+    SCM,
+    INDEXING,
+    TIMER,
+    UPSTREAM,
+    USER,
+    OTHER;
+
+    public int getMask() {
+        return 1 << ordinal();
+    }
+
+    @NonNull
+    public String getDisplayName() {
+        return switch (this) {
+            case SCM -> Messages.TriggerCause_scm();
+            case INDEXING -> Messages.TriggerCause_indexing();
+            case TIMER -> Messages.TriggerCause_timer();
+            case UPSTREAM -> Messages.TriggerCause_upstream();
+            case USER -> Messages.TriggerCause_user();
+            case OTHER -> Messages.TriggerCause_other();
+        };
+    }
+
+    @NonNull
+    public static TriggerCause of(@NonNull Cause cause) {
+        if (cause instanceof Cause.UserIdCause) {
+            return USER;
+        }
+        if (cause instanceof BranchIndexingCause) {
+            return INDEXING;
+        }
+        if (cause instanceof SCMTrigger.SCMTriggerCause || cause instanceof BranchEventCause) {
+            return SCM;
+        }
+        if (cause instanceof TimerTrigger.TimerTriggerCause) {
+            return TIMER;
+        }
+        if (cause instanceof Cause.UpstreamCause) {
+            return UPSTREAM;
+        }
+        return OTHER;
+    }
+
+    public static int mask(@NonNull Collection<TriggerCause> causes) {
+        int mask = 0;
+
+        for (final TriggerCause cause : causes) {
+            mask |= cause.getMask();
+        }
+        return mask;
+    }
+
+    public static int classify(@NonNull Collection<? extends Action> actions) {
+        int mask = 0;
+
+        for (final Action action : actions) {
+            if (action instanceof CauseAction causeAction) {
+                for (final Cause cause : causeAction.getCauses()) {
+                    mask |= of(cause).getMask();
+                }
+            }
+        }
+        return mask == 0 ? OTHER.getMask() : mask;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class WaitStats {
+    static final int BUCKETS = 20;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private final long[] buckets = new long[BUCKETS];
+    private final long[] hours;
+    private final long[] slotCounts;
+    private final long[] slotMillis;
+    private long count;
+    private long totalMillis;
+    private long maxMillis;
+
+    WaitStats(int slots) {
+        this.hours = new long[slots];
+        this.slotCounts = new long[slots];
+        this.slotMillis = new long[slots];
+        Arrays.fill(hours, -1L);
+    }
+
+    public synchronized void record(long millis, long now) {
+        final long wait = Math.max(0L, millis);
+        ++buckets[bucket(wait)];
+        ++count;
+        totalMillis += wait;
+        maxMillis = Math.max(maxMillis, wait);
+
+        if (hours.length > 0) {
+            addToSlot(now / HOUR, 1L, wait);
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public synchronized long getMaxMillis() {
+        return maxMillis;
+    }
+
+    public synchronized long getMeanMillis() {
+        return count == 0 ? 0L : totalMillis / count;
+    }
+
+    public synchronized long getPercentileMillis(double percentile) {
+        final long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += buckets[i];
+
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBound(i), maxMillis);
+            }
+        }
+        return 0L;
+    }
+
+    @NonNull
+    public synchronized List<Bucket> getBuckets() {
+        final List<Bucket> result = new ArrayList<>();
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            if (buckets[i] > 0) {
+                result.add(new Bucket(upperBound(i), buckets[i]));
+            }
+        }
+        return result;
+    }
+
+    @NonNull
+    public synchronized JSONObject toJSON(long now) {
+        final JSONArray histogram = new JSONArray();
+
+        for (final Bucket bucket : getBuckets()) {
+            histogram.add(new JSONObject().element("leMillis", bucket.getUpperMillis()).element("count", bucket.getCount()));
+        }
+
+        final JSONObject result = new JSONObject()
+                .element("count", count)
+                .element("totalMillis", totalMillis)
+                .element("meanMillis", getMeanMillis())
+                .element("p50Millis", getPercentileMillis(0.5))
+                .element("p95Millis", getPercentileMillis(0.95))
+                .element("maxMillis", maxMillis)
+                .element("histogram", histogram);
+
+        if (hours.length > 0) {
+            final JSONArray series = new JSONArray();
+            final long current = now / HOUR;
+
+            for (long hour = current - hours.length + 1; hour <= current; ++hour) {
+                final int slot = slot(hour);
+
+                if (hours[slot] == hour) {
+                    series.add(new JSONObject().element("hour", hour * HOUR).element("count", slotCounts[slot])
+                            .element("totalMillis", slotMillis[slot]));
+                }
+            }
+            result.element("series", series);
+        }
+        return result;
+    }
+
+    @NonNull
+    synchronized String format() {
+        final StringBuilder result = new StringBuilder();
+        result.append(count).append('\t').append(totalMillis).append('\t').append(maxMillis).append('\t');
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            result.append(i == 0 ? "" : ",").append(buckets[i]);
+        }
+        result.append('\t');
+        boolean first = true;
+
+        for (int slot = 0; slot < hours.length; ++slot) {
+            if (hours[slot] >= 0) {
+                result.append(first ? "" : ",").append(hours[slot]).append(':').append(slotCounts[slot]).append(':').append(slotMillis[slot]);
+                first = false;
+            }
+        }
+        return result.toString();
+    }
+
+    synchronized void parse(@NonNull String[] fields) {
+        if (fields.length != 5) {
+            throw new NumberFormatException("Invalid wait stats");
+        }
+        final String[] values = fields[3].split(",", -1);
+
+        if (values.length != BUCKETS) {
+            throw new NumberFormatException("Invalid wait histogram");
+        }
+        count = Long.parseLong(fields[0]);
+        totalMillis = Long.parseLong(fields[1]);
+        maxMillis = Long.parseLong(fields[2]);
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            buckets[i] = Long.parseLong(values[i]);
+        }
+
+        if (!fields[4].isEmpty() && hours.length > 0) {
+            for (final String entry : fields[4].split(",")) {
+                final String[] parts = entry.split(":");
+
+                if (parts.length == 3) {
+                    addToSlot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                }
+            }
+        }
+    }
+
+    static int bucket(long millis) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis / 1000L));
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000L - 1L;
+    }
+
+    private void addToSlot(long hour, long slotCount, long millis) {
+        final int slot = slot(hour);
+
+        if (hours[slot] != hour) {
+            if (hours[slot] > hour) {
+                return;
+            }
+            hours[slot] = hour;
+            slotCounts[slot] = 0L;
+            slotMillis[slot] = 0L;
+        }
+        slotCounts[slot] += slotCount;
+        slotMillis[slot] += millis;
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) hours.length);
+    }
+
+
+    public static class Bucket {
+        private final long upperMillis;
+        private final long count;
+
+        Bucket(long upperMillis, long count) {
+            this.upperMillis = upperMillis;
+            this.count = count;
+        }
+
+        public long getUpperMillis() {
+            return upperMillis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public boolean isUnbounded() {
+            return upperMillis == Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.FilePath;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.queue.CauseOfBlockage;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.kohsuke.stapler.DataBoundConstructor;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class WaitUntilUnblockedStep extends Step {
+    @DataBoundConstructor
+    public WaitUntilUnblockedStep() {
+    }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new Execution(context, BlockWaiters.get(), BlockIndex.get());
+    }
+
+
+    static final class Execution extends StepExecution {
+        private static final long serialVersionUID = 1L;
+        private static final Logger LOGGER = Logger.getLogger(Execution.class.getName());
+        private static final CauseOfBlockage NOT_READY = new BlockPipelineQueueDispatcher.JobBlockedCause(null);
+        private transient BlockWaiters waiters;
+        private transient BlockIndex index;
+        private transient volatile Job<?, ?> job;
+
+        Execution(@NonNull StepContext context, @NonNull BlockWaiters waiters, @NonNull BlockIndex index) {
+            super(context);
+            this.waiters = waiters;
+            this.index = index;
+        }
+
+        @Override
+        public boolean start() throws Exception {
+            if (getContext().get(FilePath.class) != null) {
+                throw new AbortException(Messages.WaitUntilUnblockedStep_insideNode());
+            }
+            job = getContext().get(Run.class).getParent();
+            waiters.add(this);
+            final CauseOfBlockage cause = getCause(index);
+
+            if (cause == null) {
+                if (waiters.remove(this)) {
+                    getContext().onSuccess(null);
+                    return true;
+                }
+                return false;
+            }
+            getContext().get(TaskListener.class).getLogger().println(Messages.WaitUntilUnblockedStep_waiting(cause.getShortDescription()));
+            return false;
+        }
+
+        @Override
+        public void stop(@NonNull Throwable cause) {
+            waiters.remove(this);
+            getContext().onFailure(cause);
+        }
+
+        @Override
+        public void onResume() {
+            waiters = BlockWaiters.get();
+            index = BlockIndex.get();
+
+            try {
+                job = getContext().get(Run.class).getParent();
+            } catch (IOException | InterruptedException e) {
+                getContext().onFailure(e);
+                return;
+            }
+            waiters.add(this);
+            waiters.wake();
+        }
+
+        @Override
+        public String getStatus() {
+            final Job<?, ?> current = job;
+            return current == null ? null : Messages.WaitUntilUnblockedStep_status(current.getFullName());
+        }
+
+        boolean isBlocked(@NonNull BlockIndex index) {
+            return getCause(index) != null;
+        }
+
+        @CheckForNull
+        CauseOfBlockage getCause(@NonNull BlockIndex index) {
+            final Job<?, ?> current = job;
+
+            if (current == null || !index.isReady()) {
+                return NOT_READY;
+            }
+            final CauseOfBlockage frozen = current instanceof WorkflowJob ? index.getFreezeCause(current) : null;
+            return frozen == null ? index.getCause(current) : frozen;
+        }
+
+        void resume() {
+            try {
+                getContext().get(TaskListener.class).getLogger().println(Messages.WaitUntilUnblockedStep_resumed());
+            } catch (IOException | InterruptedException e) {
+                LOGGER.log(Level.FINE, "Failed to log the resumption", e);
+            }
+            getContext().onSuccess(null);
+        }
+    }
+
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return Set.of(Run.class, TaskListener.class);
+        }
+
+        @Override
+        public String getFunctionName() {
+            return "waitUntilUnblocked";
+        }
+
+        @NonNull
+        @Override
+        public String getDisplayName() {
+            return Messages.WaitUntilUnblockedStep_displayName();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+document.addEventListener("DOMContentLoaded", function () {
+    const container = document.getElementById("block-jobs");
+
+    if (!container) {
+        return;
+    }
+
+    const rows = document.getElementById("block-jobs-rows");
+    const filter = document.getElementById("block-jobs-filter");
+    const blockedOnly = document.getElementById("block-jobs-blocked-only");
+    const more = document.getElementById("block-jobs-more");
+    const pageSize = parseInt(container.dataset.pageSize, 10);
+    const pollInterval = 500;
+    let after = "";
+    let number = 0;
+    let generation = 0;
+    let filterTimer = null;
+
+    function headers() {
+        const result = {Accept: "application/json"};
+
+        if (document.head.dataset.crumbHeader) {
+            result[document.head.dataset.crumbHeader] = document.head.dataset.crumbValue;
+        }
+        return result;
+    }
+
+    function label(blocked) {
+        return blocked ? container.dataset.unblockLabel : container.dataset.blockLabel;
+    }
+
+    function waitFor(operation) {
+        if (operation.status === "SUCCEEDED" || operation.status === "FAILED") {
+            return Promise.resolve(operation);
+        }
+        return new Promise(function (resolve) {
+            setTimeout(resolve, pollInterval);
+        }).then(function () {
+            return fetch("operation?id=" + encodeURIComponent(operation.id), {headers: headers()});
+        }).then(function (response) {
+            if (!response.ok) {
+                throw new Error(response.statusText);
+            }
+            return response.json();
+        }).then(function (response) {
+            return waitFor(response.data);
+        });
+    }
+
+    function toggle(job, checkbox, button) {
+        button.disabled = true;
+        fetch((job.blocked ? "unblockJob" : "blockJob") + "?job=" + encodeURIComponent(job.name), {
+            method: "POST",
+            headers: headers()
+        }).then(function (response) {
+            if (!response.ok) {
+                throw new Error(response.statusText);
+            }
+            return response.json();
+        }).then(function (response) {
+            return waitFor(response.data);
+        }).then(function (operation) {
+            if (operation.status === "SUCCEEDED") {
+                job.blocked = !job.blocked;
+                checkbox.checked = job.blocked;
+                button.textContent = label(job.blocked);
+            }
+            button.title = operation.error || "";
+        }).catch(function (error) {
+            button.title = error.message;
+        }).finally(function () {
+            button.disabled = false;
+        });
+    }
+
+    function cell(row, child) {
+        const td = document.createElement("td");
+        td.appendChild(child);
+        row.appendChild(td);
+    }
+
+    function createRow(job, number) {
+        const row = document.createElement("tr");
+        const name = document.createElement("b");
+        const checkbox = document.createElement("input");
+        const button = document.createElement("button");
+
+        name.textContent = job.displayName;
+        checkbox.type = "checkbox";
+        checkbox.disabled = true;
+        checkbox.checked = job.blocked;
+        button.type = "button";
+        button.className = "jenkins-button";
+        button.textContent = label(job.blocked);
+        button.addEventListener("click", function () {
+            toggle(job, checkbox, button);
+        });
+
+        cell(row, document.createTextNode(String(number)));
+        cell(row, name);
+        cell(row, checkbox);
+        cell(row, button);
+        return row;
+    }
+
+    function load(reset) {
+        const current = ++generation;
+        more.disabled = true;
+
+        if (reset) {
+            after = "";
+            number = 0;
+            rows.replaceChildren();
+        }
+
+        const params = new URLSearchParams({
+            after: after,
+            limit: pageSize,
+            filter: filter.value,
+            blockedOnly: blockedOnly.checked
+        });
+
+        fetch("jobs?" + params, {headers: headers()})
+            .then(function (response) {
+                if (!response.ok) {
+                    throw new Error(response.statusText);
+                }
+                return response.json();
+            })
+            .then(function (response) {
+                if (current !== generation) {
+                    return;
+                }
+                response.data.jobs.forEach(function (job) {
+                    rows.appendChild(createRow(job, number++));
+                });
+                after = response.data.next || "";
+                more.hidden = !response.data.more;
+                more.disabled = false;
+                more.title = "";
+            })
+            .catch(function (error) {
+                if (current === generation) {
+                    more.hidden = false;
+                    more.disabled = false;
+                    more.title = error.message;
+                }
+            });
+    }
+
+    filter.addEventListener("input", function () {
+        clearTimeout(filterTimer);
+        filterTimer = setTimeout(function () {
+            load(true);
+        }, 300);
+    });
+    blockedOnly.addEventListener("change", function () {
+        load(true);
+    });
+    more.addEventListener("click", function () {
+        load(false);
+    });
+
+    load(true);
+});
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import net.sf.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class BlockAuditTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void historyIsNewestFirstAndBounded() {
+        final BlockAudit audit = new BlockAudit(Runnable::run, dir, 2, 1024L, 1);
+
+        audit.record(event("a", BlockEvent.Type.BLOCK));
+        audit.record(event("b", BlockEvent.Type.BLOCK));
+        audit.record(event("c", BlockEvent.Type.UNBLOCK));
+
+        assertThat(names(audit.getEvents(e -> true, 10))).containsExactly("c", "b").inOrder();
+    }
+
+    @Test
+    void historyIsFilteredAndLimited() {
+        final BlockAudit audit = new BlockAudit(Runnable::run, dir, 10, 1024L, 1);
+
+        audit.record(event("org/project", BlockEvent.Type.BLOCK));
+        audit.record(event("org/project/main", BlockEvent.Type.BLOCK_JOB));
+        audit.record(event("org/project-2", BlockEvent.Type.BLOCK));
+        audit.record(event("org/project/dev", BlockEvent.Type.BLOCK_JOB));
+
+        assertThat(names(audit.getEvents(e -> e.isWithin("org/project"), 10)))
+                .containsExactly("org/project/dev", "org/project/main", "org/project").inOrder();
+        assertThat(names(audit.getEvents(e -> e.isWithin("org/project"), 1))).containsExactly("org/project/dev");
+    }
+
+    @Test
+    void eventsAreAppendedAsJsonLines() throws IOException {
+        final BlockAudit audit = new BlockAudit(Runnable::run, dir, 10, 1024L, 1);
+
+        audit.record(new BlockEvent(1000L, BlockEvent.Type.BLOCK, "project", "user", "msg", 3));
+        audit.record(new BlockEvent(2000L, BlockEvent.Type.UNBLOCK, "project", "user", null, 3));
+
+        final List<String> lines = Files.readAllLines(new File(dir, "pipeline-blocks.log").toPath(), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+
+        final JSONObject first = JSONObject.fromObject(lines.get(0));
+        assertThat(first.getLong("timestamp")).isEqualTo(1000L);
+        assertThat(first.getString("type")).isEqualTo("BLOCK");
+        assertThat(first.getString("name")).isEqualTo("project");
+        assertThat(first.getString("user")).isEqualTo("user");
+        assertThat(first.getString("message")).isEqualTo("msg");
+        assertThat(first.getInt("jobs")).isEqualTo(3);
+        assertThat(JSONObject.fromObject(lines.get(1)).getString("message")).isEmpty();
+    }
+
+    @Test
+    void logIsRotatedBySize() throws IOException {
+        final BlockAudit audit = new BlockAudit(Runnable::run, dir, 10, 150L, 2);
+
+        for (int i = 0; i < 6; ++i) {
+            audit.record(event("project-" + i, BlockEvent.Type.BLOCK));
+        }
+
+        final File log = new File(dir, "pipeline-blocks.log");
+        assertThat(log.length()).isAtMost(150L);
+        assertThat(new File(dir, "pipeline-blocks.log.1").exists()).isTrue();
+        assertThat(new File(dir, "pipeline-blocks.log.2").exists()).isTrue();
+        assertThat(new File(dir, "pipeline-blocks.log.3").exists()).isFalse();
+        assertThat(Files.readString(log.toPath(), StandardCharsets.UTF_8)).contains("project-5");
+    }
+
+    @Test
+    void noFileWithoutDirectory() {
+        final BlockAudit audit = new BlockAudit(r -> {
+            throw new AssertionError("unexpected write");
+        }, null, 10, 1024L, 1);
+
+        audit.record(event("project", BlockEvent.Type.BLOCK));
+
+        assertThat(audit.getEvents(e -> true, 10)).hasSize(1);
+    }
+
+    private static BlockEvent event(String name, BlockEvent.Type type) {
+        return new BlockEvent(1000L, type, name, "user", null, 1);
+    }
+
+    private static List<String> names(List<BlockEvent> events) {
+        return events.stream().map(BlockEvent::getFullName).collect(Collectors.toList());
+    }
+}
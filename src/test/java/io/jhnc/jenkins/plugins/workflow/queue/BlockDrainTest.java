@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class BlockDrainTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+
+    @Test
+    void releasesOneItemPerInterval() {
+        final BlockDrain drain = new BlockDrain(3, 60, 0);
+
+        assertThat(drain.tryRelease(1, 0)).isTrue();
+        assertThat(drain.tryRelease(2, SECOND / 2)).isFalse();
+        assertThat(drain.tryRelease(2, SECOND)).isTrue();
+        assertThat(drain.tryRelease(3, SECOND)).isFalse();
+        assertThat(drain.getReleased()).isEqualTo(2);
+    }
+
+    @Test
+    void idleTimeAllowsBoundedBurst() {
+        final BlockDrain drain = new BlockDrain(100, 60, 0);
+        assertThat(drain.tryRelease(1, 0)).isTrue();
+
+        for (int item = 2; item <= 6; ++item) {
+            assertThat(drain.tryRelease(item, 100 * SECOND)).isTrue();
+        }
+        assertThat(drain.tryRelease(7, 100 * SECOND)).isFalse();
+        assertThat(drain.getNextRelease()).isEqualTo(101 * SECOND);
+        assertThat(drain.getReleased()).isEqualTo(6);
+    }
+
+    @Test
+    void wakeupIsClaimedOncePerRelease() {
+        final BlockDrain drain = new BlockDrain(3, 60, 0);
+        drain.tryRelease(1, 0);
+
+        assertThat(drain.claimWakeup(drain.getNextRelease())).isTrue();
+        assertThat(drain.claimWakeup(drain.getNextRelease())).isFalse();
+
+        drain.tryRelease(2, SECOND);
+        assertThat(drain.claimWakeup(drain.getNextRelease())).isTrue();
+    }
+
+    @Test
+    void releasedItemStaysReleased() {
+        final BlockDrain drain = new BlockDrain(3, 1, 0);
+
+        assertThat(drain.tryRelease(1, 0)).isTrue();
+        assertThat(drain.tryRelease(1, 1)).isTrue();
+        assertThat(drain.getReleased()).isEqualTo(1);
+    }
+
+    @Test
+    void doneWhenAllItemsReleased() {
+        final BlockDrain drain = new BlockDrain(2, 60, 0);
+        drain.tryRelease(1, 0);
+        assertThat(drain.isDone(0)).isFalse();
+
+        drain.tryRelease(2, SECOND);
+        assertThat(drain.isDone(SECOND)).isTrue();
+        assertThat(drain.tryRelease(3, SECOND)).isTrue();
+    }
+
+    @Test
+    void doneAfterDeadline() {
+        final BlockDrain drain = new BlockDrain(5, 60, 0);
+
+        assertThat(drain.isDone(69 * SECOND)).isFalse();
+        assertThat(drain.isDone(70 * SECOND)).isTrue();
+    }
+
+    @Test
+    void causeShowsProgress() {
+        final BlockDrain drain = new BlockDrain(4, 60, 0);
+        drain.tryRelease(1, 0);
+
+        assertThat(drain.getCause().getShortDescription()).contains("1 of 4");
+    }
+}
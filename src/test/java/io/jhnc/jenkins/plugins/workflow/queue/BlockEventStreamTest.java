@@ -0,0 +1,234 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockEventStreamTest {
+    @Mock
+    AsyncContext async;
+    @Mock
+    StaplerRequest2 req;
+    @Mock
+    StaplerResponse2 rsp;
+
+
+    @Test
+    void publishedEventsAreWrittenToMatchingSubscribers() {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 10, 0L);
+        final Output project = new Output(true);
+        final Output other = new Output(true);
+        stream.register(subscriber(stream, project, "org/project"), -1);
+        stream.register(subscriber(stream, other, "org/other"), -1);
+
+        stream.publish(event("org/project/main", BlockEvent.Type.BLOCK_JOB));
+
+        assertThat(project.toString()).startsWith("id: 1\nevent: block_job\ndata: {");
+        assertThat(project.toString()).contains("\"name\":\"org/project/main\"");
+        assertThat(project.toString()).endsWith("}\n\n");
+        assertThat(other.toString()).isEmpty();
+    }
+
+    @Test
+    void missedEventsAreReplayed() {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 10, 0L);
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+        stream.publish(event("project", BlockEvent.Type.UNBLOCK));
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+        final BlockEventStream.Subscriber subscriber = subscriber(stream, new Output(true), "project");
+
+        stream.register(subscriber, 1L);
+
+        assertThat(subscriber.getQueued()).isEqualTo(2);
+    }
+
+    @Test
+    void resetIsSentIfEventsWereDropped() throws IOException {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 2, 10, 10, 0L);
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+        stream.publish(event("project", BlockEvent.Type.UNBLOCK));
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+        final Output output = new Output(true);
+        final BlockEventStream.Subscriber subscriber = subscriber(stream, output, "project");
+
+        stream.register(subscriber, 0L);
+        subscriber.onWritePossible();
+
+        assertThat(output.toString()).isEqualTo("event: reset\ndata: {}\n\n");
+    }
+
+    @Test
+    void resetIsSentForUnknownIds() {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 10, 100L);
+        final BlockEventStream.Subscriber subscriber = subscriber(stream, new Output(true), "project");
+
+        stream.register(subscriber, 200L);
+
+        assertThat(subscriber.getQueued()).isEqualTo(1);
+    }
+
+    @Test
+    void currentIdReplaysNothing() {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 10, 100L);
+        final BlockEventStream.Subscriber subscriber = subscriber(stream, new Output(true), "project");
+
+        stream.register(subscriber, 100L);
+
+        assertThat(subscriber.getQueued()).isEqualTo(0);
+    }
+
+    @Test
+    void slowSubscriberIsDisconnected() {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 2, 10, 0L);
+        final Output output = new Output(false);
+        stream.register(subscriber(stream, output, "project"), -1);
+
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+        stream.publish(event("project", BlockEvent.Type.UNBLOCK));
+        assertThat(stream.getSubscribers()).isEqualTo(1);
+
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+
+        assertThat(stream.getSubscribers()).isEqualTo(0);
+        assertThat(output.toString()).isEmpty();
+        verify(async).complete();
+    }
+
+    @Test
+    void queuedEventsAreWrittenWhenOutputIsReady() throws IOException {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 10, 0L);
+        final Output output = new Output(false);
+        final BlockEventStream.Subscriber subscriber = subscriber(stream, output, "project");
+        stream.register(subscriber, -1);
+        stream.publish(event("project", BlockEvent.Type.BLOCK));
+
+        output.ready = true;
+        subscriber.onWritePossible();
+
+        assertThat(output.toString()).startsWith("id: 1\n");
+        assertThat(output.flushed).isTrue();
+        assertThat(subscriber.getQueued()).isEqualTo(0);
+    }
+
+    @Test
+    void subscribeStartsAsyncStream() throws IOException {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 10, 0L);
+        final Output output = new Output(true);
+        when(req.startAsync()).thenReturn(async);
+        when(req.getHeader("Last-Event-ID")).thenReturn(null);
+        when(rsp.getOutputStream()).thenReturn(output);
+
+        stream.subscribe(req, rsp, event -> true);
+
+        verify(rsp).setContentType("text/event-stream;charset=UTF-8");
+        verify(async).setTimeout(0);
+        assertThat(output.listener).isNotNull();
+        assertThat(stream.getSubscribers()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribersAreLimited() throws IOException {
+        final BlockEventStream stream = new BlockEventStream(Runnable::run, 10, 10, 0, 0L);
+
+        stream.subscribe(req, rsp, event -> true);
+
+        verify(rsp).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many event stream subscribers");
+        verify(rsp, never()).setContentType(anyString());
+    }
+
+    @Test
+    void lastEventIdIsParsed() {
+        assertThat(BlockEventStream.parseId(null, null)).isEqualTo(-1L);
+        assertThat(BlockEventStream.parseId("42", "7")).isEqualTo(42L);
+        assertThat(BlockEventStream.parseId(null, "7")).isEqualTo(7L);
+        assertThat(BlockEventStream.parseId("abc", null)).isEqualTo(-1L);
+        assertThat(BlockEventStream.parseId(" ", null)).isEqualTo(-1L);
+    }
+
+    private BlockEventStream.Subscriber subscriber(BlockEventStream stream, Output output, String project) {
+        return new BlockEventStream.Subscriber(stream, async, output, event -> event.isWithin(project), 2);
+    }
+
+    private static BlockEvent event(String name, BlockEvent.Type type) {
+        return new BlockEvent(1000L, type, name, "user", null, 1);
+    }
+
+
+    private static final class Output extends ServletOutputStream {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private boolean ready;
+        private boolean flushed;
+        private WriteListener listener;
+
+        private Output(boolean ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            listener = writeListener;
+        }
+
+        @Override
+        public void write(int b) {
+            data.write(b);
+        }
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+
+        @Override
+        public String toString() {
+            return data.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlockExpiryTest {
+    @Test
+    void expiryIsParsedFromMinutes() {
+        assertThat(BlockExpiry.parse("15", 42L, 1000L)).isEqualTo(1000L + TimeUnit.MINUTES.toMillis(15));
+        assertThat(BlockExpiry.parse("0", 42L, 1000L)).isEqualTo(0L);
+        assertThat(BlockExpiry.parse(" ", 42L, 1000L)).isEqualTo(42L);
+        assertThat(BlockExpiry.parse(null, 42L, 1000L)).isEqualTo(42L);
+        assertThrows(NumberFormatException.class, () -> BlockExpiry.parse("-1", 42L, 1000L));
+        assertThrows(NumberFormatException.class, () -> BlockExpiry.parse("abc", 42L, 1000L));
+    }
+
+    @Test
+    void futureExpiryIsPending() {
+        final BlockExpiry expiry = new BlockExpiry();
+        expiry.update("project", false, inOneHour());
+
+        assertThat(expiry.isPending("project")).isTrue();
+        assertThat(expiry.isPending("other")).isFalse();
+        expiry.clear();
+    }
+
+    @Test
+    void noExpiryCancelsPending() {
+        final BlockExpiry expiry = new BlockExpiry();
+        expiry.update("project/x", true, inOneHour());
+
+        expiry.update("project/x", true, 0);
+
+        assertThat(expiry.isPending("project/x")).isFalse();
+    }
+
+    @Test
+    void cancelRemovesPending() {
+        final BlockExpiry expiry = new BlockExpiry();
+        expiry.update("project", false, inOneHour());
+
+        expiry.cancel("project");
+
+        assertThat(expiry.isPending("project")).isFalse();
+    }
+
+    @Test
+    void clearRemovesAllPending() {
+        final BlockExpiry expiry = new BlockExpiry();
+        expiry.update("a", false, inOneHour());
+        expiry.update("b", true, inOneHour());
+
+        expiry.clear();
+
+        assertThat(expiry.isPending("a")).isFalse();
+        assertThat(expiry.isPending("b")).isFalse();
+    }
+
+    @Test
+    void pastExpiryFiresWithoutJenkins() throws InterruptedException {
+        final BlockExpiry expiry = new BlockExpiry();
+        expiry.update("project", false, System.currentTimeMillis() - 1);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (expiry.isPending("project") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(expiry.isPending("project")).isFalse();
+    }
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.Action;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BlockFolderActionFactoryTest {
+    @Test
+    void actionLimitedToFolders() {
+        final BlockFolderActionFactory factory = new BlockFolderActionFactory();
+        assertThat(factory.type()).isAssignableTo(AbstractFolder.class);
+    }
+
+    @Test
+    void createForCreatesActionForFolder() {
+        final BlockFolderActionFactory factory = new BlockFolderActionFactory();
+        final Collection<? extends Action> actions = factory.createFor(mock(Folder.class));
+
+        assertThat(actions).hasSize(1);
+        assertThat(actions.iterator().next()).isInstanceOf(BlockFolderAction.class);
+    }
+
+    @Test
+    void createForSkipsMultiBranchProjects() {
+        final BlockFolderActionFactory factory = new BlockFolderActionFactory();
+
+        assertThat(factory.createFor(mock(WorkflowMultiBranchProject.class))).isEmpty();
+    }
+}
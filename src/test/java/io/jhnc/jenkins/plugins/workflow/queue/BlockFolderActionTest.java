@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolderProperty;
+import com.cloudbees.hudson.plugins.folder.AbstractFolderPropertyDescriptor;
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.Item;
+import hudson.model.User;
+import hudson.util.DescribableList;
+import hudson.util.HttpResponses;
+import net.sf.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Queue;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockFolderActionTest {
+    @Mock
+    Folder folder;
+    @Mock
+    StaplerRequest2 req;
+    @Mock
+    BlockIndex index;
+    final BlockOperationQueue operations = new BlockOperationQueue(Runnable::run);
+
+
+    @Test
+    void visibleIfPermissionGranted() {
+        when(folder.hasPermission(Item.CONFIGURE)).thenReturn(true);
+
+        assertThat(new BlockFolderAction(folder, index, operations).getIconFileName()).isNotNull();
+    }
+
+    @Test
+    void notVisibleIfPermissionDenied() {
+        when(folder.hasPermission(Item.CONFIGURE)).thenReturn(false);
+
+        assertThat(new BlockFolderAction(folder, index, operations).getIconFileName()).isNull();
+    }
+
+    @Test
+    void blockAddsProperty() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = new DescribableList<>(folder, new ArrayList<>());
+        when(folder.getProperties()).thenReturn(properties);
+        doReturn(new JSONObject().element("message", " freeze ")).when(req).getSubmittedForm();
+        final BlockFolderAction action = createSpy();
+
+        action.doBlock(req);
+
+        assertThat(action.isBlocked()).isTrue();
+        assertThat(action.getMessage()).isEqualTo("freeze");
+        assertThat(action.getUserName()).isEqualTo("An UserName");
+        verify(folder).checkPermission(Item.CONFIGURE);
+        verify(index).updateProject(folder);
+    }
+
+    @Test
+    void unblockRemovesProperty() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = new DescribableList<>(folder, new ArrayList<>());
+        properties.add(new ProjectBlockedProperty("", "user"));
+        when(folder.getProperties()).thenReturn(properties);
+        final BlockFolderAction action = new BlockFolderAction(folder, index, operations);
+
+        action.doUnblock(req);
+
+        assertThat(properties).isEmpty();
+        verify(index).updateProject(folder);
+    }
+
+    @Test
+    void inheritedBlockIsShown() {
+        when(index.getInheritedCause(folder)).thenReturn(new BlockPipelineQueueDispatcher.JobBlockedCause("org freeze"));
+
+        assertThat(new BlockFolderAction(folder, index, operations).getInheritedBlock()).contains("org freeze");
+    }
+
+    @Test
+    void operationOfFolderIsReturned() {
+        when(folder.getFullName()).thenReturn("org");
+        final BlockOperation operation = operations.submit("org", "block", op -> {
+        });
+
+        final HttpResponse resp = new BlockFolderAction(folder, index, operations).doOperation(operation.getId());
+
+        assertThat(resp).isNotInstanceOf(HttpResponses.HttpResponseException.class);
+        verify(folder).checkPermission(Item.CONFIGURE);
+    }
+
+    @Test
+    void operationOfOtherFolderIsNotFound() {
+        when(folder.getFullName()).thenReturn("org");
+        final BlockOperation operation = operations.submit("other", "block", op -> {
+        });
+
+        assertThat(new BlockFolderAction(folder, index, operations).doOperation(operation.getId()))
+                .isInstanceOf(HttpResponses.HttpResponseException.class);
+    }
+
+    @Test
+    void pendingOperationsOfFolderAreListed() {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final BlockOperationQueue pending = new BlockOperationQueue(tasks::add);
+        when(folder.getFullName()).thenReturn("org");
+        final BlockOperation operation = pending.submit("org", "block", op -> {
+        });
+        pending.submit("other", "block", op -> {
+        });
+
+        assertThat(new BlockFolderAction(folder, index, pending).getPendingOperations()).containsExactly(operation);
+    }
+
+    private BlockFolderAction createSpy() {
+        final User user = mock(User.class);
+        doReturn("An UserName").when(user).getFullName();
+        final BlockFolderAction action = spy(new BlockFolderAction(folder, index, operations));
+        doReturn(user).when(action).getCurrentUser();
+        return action;
+    }
+}
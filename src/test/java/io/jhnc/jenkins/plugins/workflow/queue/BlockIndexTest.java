@@ -0,0 +1,667 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.Run;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.util.DescribableList;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.mixin.ChangeRequestSCMHead;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class BlockIndexTest {
+    @Mock
+    WorkflowMultiBranchProject project;
+    @TempDir
+    File dir;
+
+
+    @Test
+    void notReadyUntilBuilt() {
+        final BlockIndex index = new BlockIndex();
+        assertThat(index.isReady()).isFalse();
+
+        index.rebuild(Collections.emptyList());
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void unknownJobIsNotBlocked() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+
+        assertThat(index.getCause(createJob("x", false))).isNull();
+        assertThat(index.isBlocked(project)).isFalse();
+    }
+
+    @Test
+    void blockedJobIsIndexed() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", true);
+
+        index.updateJob(job);
+
+        assertThat(index.getCause(job)).isInstanceOf(BlockPipelineQueueDispatcher.JobBlockedCause.class);
+        assertThat(index.getBlockedJobs(project)).containsExactly("x");
+        assertThat(index.isBlocked(project)).isFalse();
+    }
+
+    @Test
+    void unblockedJobIsRemoved() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", true);
+        index.updateJob(job);
+
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(null);
+        index.updateJob(job);
+
+        assertThat(index.getCause(job)).isNull();
+        assertThat(index.getBlockedJobs(project)).isEmpty();
+    }
+
+    @Test
+    void versionChangesOnlyWithBlockState() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", true);
+
+        final long initial = index.getVersion();
+        index.updateJob(job);
+        final long blocked = index.getVersion();
+        index.updateJob(job);
+
+        assertThat(blocked).isGreaterThan(initial);
+        assertThat(index.getVersion()).isEqualTo(blocked);
+
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(null);
+        index.updateJob(job);
+
+        assertThat(index.getVersion()).isGreaterThan(blocked);
+    }
+
+    @Test
+    void unchangedProjectKeepsSchedule() {
+        final BlockIndex index = new BlockIndex();
+        final BlockWindowsProperty windows = new BlockWindowsProperty(List.of(new BlockWindow("* * * * *", 5, "")));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(windows)));
+        index.updateProject(project);
+        final ScheduledBlock schedule = index.getScheduledBlock("project");
+        final long version = index.getVersion();
+
+        index.updateProject(project);
+
+        assertThat(index.getScheduledBlock("project")).isSameInstanceAs(schedule);
+        assertThat(index.getVersion()).isEqualTo(version);
+
+        when(project.getProperties()).thenReturn(new DescribableList<>(project,
+                Collections.singleton(new BlockWindowsProperty(List.of(new BlockWindow("* * * * *", 10, ""))))));
+        index.updateProject(project);
+
+        assertThat(index.getScheduledBlock("project")).isNotSameInstanceAs(schedule);
+        index.clear();
+    }
+
+    @Test
+    void blockedProjectBlocksAllJobs() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project,
+                Collections.singleton(new ProjectBlockedProperty("a message", "user"))));
+
+        index.updateProject(project);
+        final CauseOfBlockage cause = index.getCause(createJob("x", false));
+
+        assertThat(index.isBlocked(project)).isTrue();
+        assertThat(cause).isNotNull();
+        assertThat(cause.getShortDescription()).contains("a message");
+    }
+
+    @Test
+    void unblockedProjectKeepsBlockedJobs() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project,
+                Collections.singleton(new ProjectBlockedProperty("", "user"))));
+        final Job<?, ?> job = createJob("x", true);
+        index.rebuild(List.of(project, job));
+
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.emptyList()));
+        index.updateProject(project);
+
+        assertThat(index.isBlocked(project)).isFalse();
+        assertThat(index.getCause(job)).isNotNull();
+    }
+
+    @Test
+    void removeDropsItemAndDescendants() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("folder/project");
+        final Job<?, ?> job = createJob("x", true);
+        index.updateJob(job);
+
+        index.remove("folder");
+
+        assertThat(index.getCause(job)).isNull();
+    }
+
+    @Test
+    void removeDropsJob() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("folder/project");
+        final Job<?, ?> job = createJob("x", true);
+        index.updateJob(job);
+
+        index.remove("folder/project/x");
+
+        assertThat(index.getBlockedJobs(project)).isEmpty();
+    }
+
+    @Test
+    void renameMovesJob() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", true);
+        index.updateJob(job);
+
+        when(job.getName()).thenReturn("y");
+        index.remove("project/x");
+        index.update(job);
+
+        assertThat(index.getBlockedJobs(project)).containsExactly("y");
+    }
+
+    @Test
+    void drainReleasesBlockedItemsAtRate() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final WorkflowJob job = new WorkflowJob(project, "x");
+        final Queue.Item first = createBlockedItem(job);
+        final Queue.Item second = createBlockedItem(job);
+
+        index.startDrain("project", 1, System.nanoTime(), first, second);
+
+        assertThat(index.getDrain("project").getTotal()).isEqualTo(2);
+        assertThat(index.getDrainCause(job, first.getId())).isNull();
+        assertThat(index.getDrainCause(job, second.getId())).isNotNull();
+        assertThat(index.getDrainCause(job, first.getId())).isNull();
+        assertThat(index.getDrain("project").getReleased()).isEqualTo(1);
+    }
+
+    @Test
+    void drainSkipsIndividuallyBlockedJobs() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        index.updateJob(createJob("blocked", true));
+
+        index.startDrain("project", 1, System.nanoTime(), createBlockedItem(new WorkflowJob(project, "blocked")));
+
+        assertThat(index.getDrain("project")).isNull();
+    }
+
+    @Test
+    void drainEndsWhenAllItemsReleased() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final WorkflowJob job = new WorkflowJob(project, "x");
+        final Queue.Item item = createBlockedItem(job);
+
+        index.startDrain("project", 1, System.nanoTime(), item);
+
+        assertThat(index.getDrainCause(job, item.getId())).isNull();
+        assertThat(index.getDrain("project")).isNull();
+    }
+
+    @Test
+    void blockingProjectStopsDrain() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("", "user"))));
+        index.startDrain("project", 1, System.nanoTime(), createBlockedItem(new WorkflowJob(project, "x")));
+
+        index.updateProject(project);
+
+        assertThat(index.getDrain("project")).isNull();
+    }
+
+    @Test
+    void activeBlockWindowBlocksJobs() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        index.updateSchedule("project", List.of(new BlockWindow("* * * * *", 5, "window")), System.currentTimeMillis());
+
+        assertThat(index.getScheduledBlock("project")).isNotNull();
+        assertThat(index.getCause(createJob("x", false)).getShortDescription()).contains("window");
+
+        index.clear();
+        assertThat(index.getScheduledBlock("project")).isNull();
+    }
+
+    @Test
+    void removedWindowsUnblockJobs() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        index.updateSchedule("project", List.of(new BlockWindow("* * * * *", 5, "")), System.currentTimeMillis());
+
+        index.updateSchedule("project", List.of(), System.currentTimeMillis());
+
+        assertThat(index.getScheduledBlock("project")).isNull();
+        assertThat(index.getCause(createJob("x", false))).isNull();
+    }
+
+    @Test
+    void folderBlockWindowBlocksNestedJobs() {
+        final BlockIndex index = new BlockIndex();
+        final Folder folder = mock(Folder.class);
+        when(folder.getFullName()).thenReturn("org");
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getParent()).thenAnswer(x -> folder);
+        index.updateSchedule("org", List.of(new BlockWindow("* * * * *", 5, "window")), System.currentTimeMillis());
+
+        assertThat(index.getCause(createJob("x", false)).getShortDescription()).contains("window");
+
+        index.clear();
+        assertThat(index.getCause(createJob("x", false))).isNull();
+    }
+
+    @Test
+    void scheduledAncestorsAreCachedUntilScheduleChanges() {
+        final BlockIndex index = new BlockIndex();
+        final Folder folder = mock(Folder.class);
+        when(folder.getFullName()).thenReturn("org");
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getParent()).thenAnswer(x -> folder);
+        index.updateSchedule("org", List.of(new BlockWindow("* * * * *", 5, "window")), System.currentTimeMillis());
+        assertThat(index.getCause(createJob("x", false))).isNotNull();
+        clearInvocations(project);
+
+        assertThat(index.getCause(createJob("y", false))).isNotNull();
+        verify(project, never()).getParent();
+
+        index.updateSchedule("org", List.of(), System.currentTimeMillis());
+        assertThat(index.getCause(createJob("x", false))).isNull();
+    }
+
+    @Test
+    void freezeBlocksAllButAllowedJobs() {
+        final BlockIndex index = new BlockIndex();
+        final Job<?, ?> blocked = mock(Job.class);
+        when(blocked.getFullName()).thenReturn("org/project/PR-1");
+        final Job<?, ?> allowed = mock(Job.class);
+        when(allowed.getFullName()).thenReturn("infra/deploy/main");
+        assertThat(index.isFrozen()).isFalse();
+
+        index.setFreeze("upgrade", List.of("infra/*"));
+
+        assertThat(index.isFrozen()).isTrue();
+        assertThat(index.getFreezeCause(blocked).getShortDescription()).contains("upgrade");
+        assertThat(index.getFreezeCause(allowed)).isNull();
+    }
+
+    @Test
+    void liftedFreezeBlocksNothing() {
+        final BlockIndex index = new BlockIndex();
+        final Job<?, ?> job = mock(Job.class);
+        index.setFreeze("", List.of());
+
+        index.setFreeze(null, List.of());
+
+        assertThat(index.isFrozen()).isFalse();
+        assertThat(index.getFreezeCause(job)).isNull();
+    }
+
+    @Test
+    void folderBlockIsInherited() {
+        final BlockIndex index = new BlockIndex();
+        final Folder folder = createFolder(new ProjectBlockedProperty("org freeze", "user"));
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getParent()).thenAnswer(x -> folder);
+
+        index.updateProject(folder);
+        final CauseOfBlockage cause = index.getCause(createJob("x", false));
+
+        assertThat(cause).isNotNull();
+        assertThat(cause.getShortDescription()).contains("org freeze");
+        assertThat(index.getInheritedCause(project)).isSameInstanceAs(cause);
+    }
+
+    @Test
+    void inheritedBlockIsCachedUntilBlocksChange() {
+        final BlockIndex index = new BlockIndex();
+        final Folder folder = createFolder(new ProjectBlockedProperty("", "user"));
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getParent()).thenAnswer(x -> folder);
+        index.updateProject(folder);
+
+        assertThat(index.getInheritedCause(project)).isNotNull();
+        assertThat(index.getInheritedCause(project)).isNotNull();
+        verify(project, times(1)).getParent();
+
+        folder.getProperties().clear();
+        index.updateProject(folder);
+
+        assertThat(index.getInheritedCause(project)).isNull();
+        verify(project, times(2)).getParent();
+    }
+
+    @Test
+    void unrelatedUpdateKeepsInheritedCache() {
+        final BlockIndex index = new BlockIndex();
+        final Folder folder = createFolder(new ProjectBlockedProperty("", "user"));
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getParent()).thenAnswer(x -> folder);
+        index.updateProject(folder);
+        index.getInheritedCause(project);
+
+        index.updateProject(createFolder());
+        index.getInheritedCause(project);
+
+        verify(project, times(1)).getParent();
+    }
+
+    @Test
+    void projectPatternsLimitBlockedJobs() {
+        final BlockIndex index = new BlockIndex();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setExcludes(List.of("main", "release/*"));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+
+        index.updateProject(project);
+
+        assertThat(index.getCause(createJob("PR-1", false))).isNotNull();
+        assertThat(index.getCause(createJob("main", false))).isNull();
+        assertThat(index.getCause(createJob("release%2F1.0", false))).isNull();
+    }
+
+    @Test
+    void projectTriggersLimitBlockedItems() {
+        final BlockIndex index = new BlockIndex();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setTriggers(List.of(TriggerCause.SCM, TriggerCause.INDEXING));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        final Job<?, ?> job = createJob("main", false);
+
+        index.updateProject(project);
+
+        assertThat(index.getCause(job, TriggerCause.SCM::getMask)).isNotNull();
+        assertThat(index.getCause(job, () -> TriggerCause.SCM.getMask() | TriggerCause.INDEXING.getMask())).isNotNull();
+        assertThat(index.getCause(job, TriggerCause.USER::getMask)).isNull();
+        assertThat(index.getCause(job, () -> TriggerCause.SCM.getMask() | TriggerCause.USER.getMask())).isNull();
+        assertThat(index.getCause(job)).isNotNull();
+    }
+
+    @Test
+    void projectCategoriesLimitBlockedJobs() {
+        final Job<?, ?> pullRequest = createJob("PR-1", false);
+        final Job<?, ?> branch = createJob("main", false);
+        final SCMHead pullRequestHead = mock(SCMHead.class, withSettings().extraInterfaces(ChangeRequestSCMHead.class));
+        final BlockIndex index = new BlockIndex(new HeadCategories(item -> item == pullRequest ? pullRequestHead : new SCMHead("main")));
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setCategories(List.of(HeadCategory.CHANGE_REQUEST));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+
+        index.updateProject(project);
+
+        assertThat(index.getCause(pullRequest)).isNotNull();
+        assertThat(index.getCause(branch)).isNull();
+    }
+
+    @Test
+    void blocksAppliesPatternsCategoriesAndTriggers() {
+        final Job<?, ?> pullRequest = createJob("PR-1", false);
+        final Job<?, ?> excluded = createJob("PR-2", false);
+        final Job<?, ?> branch = createJob("main", false);
+        final SCMHead pullRequestHead = mock(SCMHead.class, withSettings().extraInterfaces(ChangeRequestSCMHead.class));
+        final BlockIndex index = new BlockIndex(new HeadCategories(item -> item == branch ? new SCMHead("main") : pullRequestHead));
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setExcludes(List.of("PR-2"));
+        property.setCategories(List.of(HeadCategory.CHANGE_REQUEST));
+        property.setTriggers(List.of(TriggerCause.SCM));
+        when(project.getFullName()).thenReturn("project");
+
+        assertThat(index.blocks(property, pullRequest, null)).isTrue();
+        assertThat(index.blocks(property, pullRequest, TriggerCause.SCM::getMask)).isTrue();
+        assertThat(index.blocks(property, pullRequest, TriggerCause.USER::getMask)).isFalse();
+        assertThat(index.blocks(property, excluded, null)).isFalse();
+        assertThat(index.blocks(property, branch, null)).isFalse();
+    }
+
+    @Test
+    void individuallyBlockedJobStaysBlockedWhenExcluded() {
+        final BlockIndex index = new BlockIndex();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setExcludes(List.of("main"));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        final Job<?, ?> job = createJob("main", true);
+
+        index.updateProject(project);
+        index.updateJob(job);
+
+        assertThat(index.getCause(job)).isNotNull();
+    }
+
+    @Test
+    void enabledThrottleSeedsBuildsInProgress() {
+        final BlockIndex index = new BlockIndex();
+        final Job<?, ?> job = createJob("x", false);
+        final Run<?, ?> run = mock(Run.class);
+        when(project.getFullName()).thenReturn("seeded");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectThrottleProperty(1))));
+        doReturn(List.of(job)).when(project).getItems();
+        doReturn(run).when(job).getLastBuild();
+        when(run.isBuilding()).thenReturn(true);
+        when(run.getExternalizableId()).thenReturn("seeded/x#1");
+
+        index.rebuild(List.of(project));
+        index.rebuild(List.of(project));
+
+        assertThat(RunningBuilds.get().getRunning("seeded")).isEqualTo(1);
+        verify(job, times(1)).getLastBuild();
+        RunningBuilds.get().remove("seeded");
+    }
+
+    private Folder createFolder(ProjectBlockedProperty... properties) {
+        final Folder folder = mock(Folder.class);
+        lenient().when(folder.getFullName()).thenReturn(properties.length == 0 ? "other" : "org");
+        when(folder.getProperties()).thenReturn(new DescribableList<>(folder, new ArrayList<>(List.of(properties))));
+        return folder;
+    }
+
+    @Test
+    void expiringJobBlockIsScheduled() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", false);
+        final JobBlockedProperty property = new JobBlockedProperty();
+        property.setExpiresAt(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(property);
+
+        index.updateJob(job);
+        assertThat(index.getExpiry().isPending("project/x")).isTrue();
+
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(null);
+        index.updateJob(job);
+        assertThat(index.getExpiry().isPending("project/x")).isFalse();
+    }
+
+    @Test
+    void clearCancelsExpiry() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", false);
+        final JobBlockedProperty property = new JobBlockedProperty();
+        property.setExpiresAt(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(property);
+        index.updateJob(job);
+
+        index.clear();
+
+        assertThat(index.getExpiry().isPending("project/x")).isFalse();
+    }
+
+    @Test
+    void blockedProjectsAndJobsAreListed() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("msg", "user"))));
+        final Job<?, ?> job = createJob("x", true);
+
+        index.updateProject(project);
+        index.updateJob(job);
+
+        assertThat(index.getBlocks().stream().map(BlockSummary::getFullName).toList()).containsExactly("project", "project/x").inOrder();
+        assertThat(index.getBlocks().iterator().next().getMessage()).isEqualTo("msg");
+
+        index.remove("project");
+
+        assertThat(index.getBlocks()).isEmpty();
+    }
+
+    @Test
+    void unblockedJobIsNotListed() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", true);
+        index.updateJob(job);
+
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(null);
+        index.updateJob(job);
+
+        assertThat(index.getBlocks()).isEmpty();
+    }
+
+    @Test
+    void restoredSnapshotServesBlocks() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final Job<?, ?> job = createJob("x", false);
+
+        index.restore(List.of(BlockSummary.of("project/x", true, "", null, 0, 0)));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.getCause(job)).isNotNull();
+        assertThat(index.getBlocks()).hasSize(1);
+    }
+
+    @Test
+    void missingSnapshotKeepsIndexNotReady() {
+        final BlockIndex index = new BlockIndex();
+
+        index.restore(new BlockSnapshot(new File(dir, "missing.txt"), Runnable::run).read());
+
+        assertThat(index.isReady()).isFalse();
+    }
+
+    @Test
+    void unreadableSnapshotKeepsIndexNotReady() throws IOException {
+        final File file = new File(dir, "blocks.txt");
+        Files.writeString(file.toPath(), "garbage\nP\tproject\t1\t0\t\tmsg\n", StandardCharsets.UTF_8);
+        final BlockIndex index = new BlockIndex();
+
+        index.restore(new BlockSnapshot(file, Runnable::run).read());
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.getBlocks()).isEmpty();
+    }
+
+    @Test
+    void emptySnapshotMarksIndexReady() {
+        final File file = new File(dir, "blocks.txt");
+        new BlockSnapshot(file, Runnable::run).write(List.of());
+        final BlockIndex index = new BlockIndex();
+
+        index.restore(new BlockSnapshot(file, Runnable::run).read());
+
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void rebuildAfterRestoreDropsStaleBlocks() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.emptyList()));
+        final Job<?, ?> job = createJob("x", false);
+        lenient().when(job.getFullName()).thenReturn("project/x");
+        index.restore(List.of(BlockSummary.of("project", false, "msg", "user", 1, 0),
+                BlockSummary.of("project/x", true, "", null, 0, 0), BlockSummary.of("gone/y", true, "", null, 0, 0)));
+
+        index.rebuild(List.of(project, job));
+
+        assertThat(index.getCause(job)).isNull();
+        assertThat(index.getBlocks()).isEmpty();
+    }
+
+    private Queue.Item createBlockedItem(Queue.Task task) {
+        return new Queue.BlockedItem(new Queue.WaitingItem(null, task, Collections.emptyList()),
+                new BlockPipelineQueueDispatcher.JobBlockedCause(null));
+    }
+
+    private Job<?, ?> createJob(String name, boolean blocked) {
+        final Job<?, ?> job = mock(Job.class);
+        when(job.getParent()).thenAnswer(x -> project);
+        lenient().when(job.getName()).thenReturn(name);
+        lenient().when(job.getFullName()).thenAnswer(x -> project.getFullName() + "/" + name);
+        if (blocked) {
+            when(job.getProperty(JobBlockedProperty.class)).thenReturn(new JobBlockedProperty());
+        }
+        return job;
+    }
+}
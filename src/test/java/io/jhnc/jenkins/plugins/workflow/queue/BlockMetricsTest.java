@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.Queue;
+import net.sf.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BlockMetricsTest {
+
+    @Test
+    void recordCountsCalls() {
+        final BlockMetrics metrics = new BlockMetrics();
+        metrics.record(100, true);
+        metrics.record(200, false);
+        metrics.record(300, false);
+
+        assertThat(metrics.getCalls()).isEqualTo(3L);
+        assertThat(metrics.getBlocked()).isEqualTo(1L);
+        assertThat(metrics.getAllowed()).isEqualTo(2L);
+    }
+
+    @Test
+    void toJSONContainsLatencyHistogram() {
+        final BlockMetrics metrics = new BlockMetrics();
+        metrics.record(0, false);
+        metrics.record(100, false);
+        metrics.record(120, true);
+        final JSONObject json = metrics.toJSON();
+
+        assertThat(json.getLong("calls")).isEqualTo(3L);
+        assertThat(json.getLong("meanNanos")).isEqualTo(73L);
+        assertThat(json.getJSONArray("latency")).hasSize(2);
+        assertThat(json.getJSONArray("latency").getJSONObject(0).getLong("leNanos")).isEqualTo(0L);
+        assertThat(json.getJSONArray("latency").getJSONObject(1).getLong("leNanos")).isEqualTo(127L);
+        assertThat(json.getJSONArray("latency").getJSONObject(1).getLong("count")).isEqualTo(2L);
+    }
+
+    @Test
+    void toJSONWithoutCalls() {
+        final JSONObject json = new BlockMetrics().toJSON();
+
+        assertThat(json.getLong("calls")).isEqualTo(0L);
+        assertThat(json.getLong("meanNanos")).isEqualTo(0L);
+        assertThat(json.getJSONArray("latency")).isEmpty();
+        assertThat(json.getJSONObject("blockedItems").isEmpty()).isTrue();
+    }
+
+    @Test
+    void hugeLatencyIsCappedToLastBucket() {
+        final BlockMetrics metrics = new BlockMetrics();
+        metrics.record(Long.MAX_VALUE, false);
+
+        assertThat(metrics.toJSON().getJSONArray("latency")).hasSize(1);
+    }
+
+    @Test
+    void waitingItemsAreNotCountedAsBlocked() {
+        final Queue.Item item = new Queue.WaitingItem(null, mock(Queue.Task.class), Collections.emptyList());
+
+        assertThat(BlockMetrics.getBlockedItems(item)).isEmpty();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class BlockOperationQueueTest {
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+    private final BlockOperationQueue queue = new BlockOperationQueue(tasks::add);
+
+
+    @Test
+    void operationIsQueuedUntilExecuted() {
+        final BlockOperation operation = queue.submit("project", "block", op -> {
+        });
+
+        assertThat(operation.getStatus()).isEqualTo(BlockOperation.Status.QUEUED);
+        assertThat(queue.getPendingOperations("project")).containsExactly(operation);
+
+        tasks.poll().run();
+
+        assertThat(operation.getStatus()).isEqualTo(BlockOperation.Status.SUCCEEDED);
+        assertThat(queue.getPendingOperations("project")).isEmpty();
+        assertThat(queue.getOperation(operation.getId())).isSameInstanceAs(operation);
+    }
+
+    @Test
+    void operationsOfSameProjectRunInOrder() {
+        final List<String> executed = new ArrayList<>();
+        queue.submit("project", "first", op -> executed.add("first"));
+        queue.submit("project", "second", op -> executed.add("second"));
+
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+
+        assertThat(executed).containsExactly("first", "second").inOrder();
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void operationsOfDifferentProjectsRunIndependently() {
+        queue.submit("project-0", "block", op -> {
+        });
+        queue.submit("project-1", "block", op -> {
+        });
+
+        assertThat(tasks).hasSize(2);
+    }
+
+    @Test
+    void failedOperationDoesNotStopQueue() {
+        final BlockOperation failing = queue.submit("project", "block", op -> {
+            throw new IOException("expected");
+        });
+        final BlockOperation next = queue.submit("project", "unblock", op -> {
+        });
+
+        tasks.poll().run();
+        tasks.poll().run();
+
+        assertThat(failing.getStatus()).isEqualTo(BlockOperation.Status.FAILED);
+        assertThat(failing.getError()).isEqualTo("expected");
+        assertThat(next.getStatus()).isEqualTo(BlockOperation.Status.SUCCEEDED);
+    }
+
+    @Test
+    void erroneousOperationDoesNotStopQueue() {
+        final BlockOperation failing = queue.submit("project", "block", op -> {
+            throw new LinkageError("expected");
+        });
+        final BlockOperation next = queue.submit("project", "unblock", op -> {
+        });
+
+        tasks.poll().run();
+        tasks.poll().run();
+
+        assertThat(failing.getStatus()).isEqualTo(BlockOperation.Status.FAILED);
+        assertThat(failing.getError()).isEqualTo("expected");
+        assertThat(next.getStatus()).isEqualTo(BlockOperation.Status.SUCCEEDED);
+    }
+
+    @Test
+    void operationReportsProgress() {
+        final BlockOperation operation = queue.submit("project", "block", op -> {
+            op.setTotal(3);
+            op.progress();
+            op.progress();
+        });
+
+        tasks.poll().run();
+
+        assertThat(operation.getCompleted()).isEqualTo(2);
+        assertThat(operation.getTotal()).isEqualTo(3);
+        assertThat(operation.toJSON().getString("status")).isEqualTo("SUCCEEDED");
+    }
+
+    @Test
+    void unknownOperationIsNull() {
+        assertThat(queue.getOperation(42)).isNull();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.Queue;
+import hudson.util.DescribableList;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockOverviewLinkTest {
+    @Mock
+    WorkflowMultiBranchProject project;
+    @Mock
+    Folder folder;
+
+    @Test
+    void listsBlocksOfIndex() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("msg", "user"))));
+        index.updateProject(project);
+
+        final BlockOverviewLink link = new BlockOverviewLink(index);
+
+        assertThat(link.getBlocks()).hasSize(1);
+        final BlockSummary summary = link.getBlocks().iterator().next();
+        assertThat(summary.getFullName()).isEqualTo("org/project");
+        assertThat(summary.getUser()).isEqualTo("user");
+        assertThat(summary.getTimestamp()).isNotNull();
+        assertThat(summary.isJob()).isFalse();
+        assertThat(summary.getUrl()).isEqualTo("job/org/job/project/");
+    }
+
+    @Test
+    void queuedItemsAreCountedForJobAndAncestors() {
+        when(folder.getFullName()).thenReturn("org");
+        when(project.getFullName()).thenReturn("org/project");
+        when(project.getParent()).thenReturn(folder);
+        final WorkflowJob job = new WorkflowJob(project, "main");
+
+        final Map<String, Integer> queued = BlockOverviewLink.getQueuedItems(createBlockedItem(job), createBlockedItem(job),
+                new Queue.WaitingItem(null, job, Collections.emptyList()));
+
+        assertThat(queued).containsExactly("org/project/main", 2, "org/project", 2, "org", 2);
+    }
+
+    private static Queue.Item createBlockedItem(Queue.Task task) {
+        return new Queue.BlockedItem(new Queue.WaitingItem(null, task, Collections.emptyList()),
+                new BlockPipelineQueueDispatcher.JobBlockedCause(null));
+    }
+}
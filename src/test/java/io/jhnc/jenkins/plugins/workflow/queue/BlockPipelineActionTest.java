@@ -40,24 +40,39 @@ import org.jenkinsci.plugins.workflow.job.WorkflowRun;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
 import org.kohsuke.stapler.StaplerRequest2;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.longThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -68,13 +83,16 @@ class BlockPipelineActionTest {
     MultiBranchProject<WorkflowJob, WorkflowRun> project;
     @Mock
     StaplerRequest2 req;
+    @Mock
+    BlockIndex index;
+    final BlockOperationQueue operations = new BlockOperationQueue(Runnable::run);
 
 
     @Test
     void visibleIfPermissionGranted() {
         when(project.hasPermission(Item.CONFIGURE)).thenReturn(true);
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         assertThat(action.getIconFileName()).isNotNull();
     }
 
@@ -82,20 +100,20 @@ class BlockPipelineActionTest {
     void notVisibleIfPermissionDenied() {
         when(project.hasPermission(Item.CONFIGURE)).thenReturn(false);
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         assertThat(action.getIconFileName()).isNull();
     }
 
     @Test
     void hasStablePath() {
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
 
         assertThat(action.getUrlName()).isEqualTo("block");
     }
 
     @Test
     void checksPermission() {
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
 
         assertThat(action.getTarget()).isNotNull();
         verify(project).checkPermission(Item.CONFIGURE);
@@ -105,7 +123,7 @@ class BlockPipelineActionTest {
     void throwsOnAccessDenied() {
         doThrow(new AccessDeniedException("expected")).when(project).checkPermission(any(Permission.class));
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         assertThrows(AccessDeniedException.class, action::getTarget);
     }
 
@@ -113,7 +131,7 @@ class BlockPipelineActionTest {
     void isBlockedReturnsProjectState() {
         when(project.getProperties()).thenReturn(projectProperties());
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         assertThat(action.isBlocked()).isTrue();
     }
 
@@ -123,13 +141,12 @@ class BlockPipelineActionTest {
         final Job<?, ?> job1 = mock(Job.class);
         when(project.getAllJobs()).thenAnswer(x -> Arrays.asList(job0, job1));
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         assertThat(action.getJobs()).containsExactly(job0, job1);
     }
 
     @Test
     void blockChecksPermission() throws ServletException, IOException {
-        when(project.getAllJobs()).thenReturn(Collections.emptyList());
         when(project.getProperties()).thenReturn(emptyProjectProperties());
 
         final BlockPipelineAction action = createSpy();
@@ -142,7 +159,6 @@ class BlockPipelineActionTest {
 
     @Test
     void blockDoesNothingIfNoJobAvailable() throws Exception {
-        when(project.getAllJobs()).thenReturn(Collections.emptyList());
         when(project.getProperties()).thenReturn(emptyProjectProperties());
 
         final BlockPipelineAction action = createSpy();
@@ -154,8 +170,6 @@ class BlockPipelineActionTest {
 
     @Test
     void blockAddsProperty() throws Exception {
-        final Job<?, ?> job = mock(Job.class);
-        when(project.getAllJobs()).thenAnswer(x -> Collections.singletonList(job));
         final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
         doReturn(properties).when(project).getProperties();
         doReturn(formData("")).when(req).getSubmittedForm();
@@ -164,8 +178,150 @@ class BlockPipelineActionTest {
         final HttpResponse resp = action.doBlock(req);
 
         assertThat(resp).isNotNull();
-        verify(job).addProperty(any(JobBlockedProperty.class));
         assertThat(properties).hasSize(1);
+        assertThat(((ProjectBlockedProperty) properties.get(0)).isInherited()).isTrue();
+    }
+
+    @Test
+    void blockAddsPropertyWithCoalesce() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("coalesce", true)).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        assertThat(((ProjectBlockedProperty) properties.get(0)).isCoalesce()).isTrue();
+        assertThat(action.isCoalesce()).isTrue();
+    }
+
+    @Test
+    void blockWithCancelCancelsBuilds() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("cancel", true)).when(req).getSubmittedForm();
+        final BlockPipelineAction action = createSpy();
+        final List<BuildCanceller.Target> targets = List.of();
+        doReturn(targets).when(action).findBuilds(any(), any());
+        doNothing().when(action).cancelBuilds(any(), any());
+
+        action.doBlock(req);
+
+        assertThat(properties).hasSize(1);
+        verify(action).cancelBuilds(any(), eq(targets));
+    }
+
+    @Test
+    void blockWithCancelRequiresCancelPermission() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        lenient().doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("cancel", true)).when(req).getSubmittedForm();
+        doThrow(new AccessDeniedException("expected")).when(project).checkPermission(Item.CANCEL);
+        final BlockPipelineAction action = createSpy();
+
+        assertThrows(AccessDeniedException.class, () -> action.doBlock(req));
+
+        assertThat(properties).isEmpty();
+        verify(action, never()).findBuilds(any(), any());
+        verify(action, never()).cancelBuilds(any(), any());
+    }
+
+    @Test
+    void blockWithoutCancelKeepsBuilds() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("")).when(req).getSubmittedForm();
+        final BlockPipelineAction action = createSpy();
+
+        action.doBlock(req);
+
+        verify(action, never()).findBuilds(any(), any());
+        verify(action, never()).cancelBuilds(any(), any());
+    }
+
+    @Test
+    void blockAddsPropertyWithTriggers() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("triggerSCM", true).element("triggerTIMER", true)).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        assertThat(((ProjectBlockedProperty) properties.get(0)).getTriggers()).containsExactly(TriggerCause.SCM, TriggerCause.TIMER);
+        assertThat(action.isTriggerBlocked(TriggerCause.SCM)).isTrue();
+        assertThat(action.isTriggerBlocked(TriggerCause.USER)).isFalse();
+    }
+
+    @Test
+    void blockAddsPropertyWithCategories() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("categoryCHANGE_REQUEST", true)).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        assertThat(((ProjectBlockedProperty) properties.get(0)).getCategories()).containsExactly(HeadCategory.CHANGE_REQUEST);
+        assertThat(action.isCategoryBlocked(HeadCategory.CHANGE_REQUEST)).isTrue();
+        assertThat(action.isCategoryBlocked(HeadCategory.BRANCH)).isFalse();
+    }
+
+    @Test
+    void blockAddsPropertyWithExpiry() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("expiresIn", 15)).when(req).getSubmittedForm();
+        final long before = System.currentTimeMillis();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        final long expiresAt = ((ProjectBlockedProperty) properties.get(0)).getExpiresAt();
+        assertThat(expiresAt).isAtLeast(before + TimeUnit.MINUTES.toMillis(15));
+        assertThat(action.getExpiryDate()).isEqualTo(new Date(expiresAt));
+    }
+
+    @Test
+    void blockWithoutExpiryKeepsCurrentExpiry() throws Exception {
+        final ProjectBlockedProperty existing = new ProjectBlockedProperty("old", "user");
+        existing.setExpiresAt(12345L);
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties =
+                new DescribableList<>(project, new ArrayList<>(List.of(existing)));
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("new message").element("expiresIn", "")).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        assertThat(((ProjectBlockedProperty) properties.get(0)).getMessage()).isEqualTo("new message");
+        assertThat(((ProjectBlockedProperty) properties.get(0)).getExpiresAt()).isEqualTo(12345L);
+    }
+
+    @Test
+    void blockRejectsInvalidExpiry() throws Exception {
+        doReturn(emptyProjectProperties()).when(project).getProperties();
+        doReturn(formData("").element("expiresIn", "-5")).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+
+        assertThat(action.doBlock(req)).isInstanceOf(HttpResponses.HttpResponseException.class);
+        verify(action, never()).addBlockProperty(any());
+    }
+
+    @Test
+    void blockAddsPropertyWithPatterns() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn(formData("").element("includes", "PR-*\n\n  feature/* ").element("excludes", "PR-1")).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        final ProjectBlockedProperty property = (ProjectBlockedProperty) properties.get(0);
+        assertThat(property.getIncludes()).containsExactly("PR-*", "feature/*").inOrder();
+        assertThat(property.getExcludes()).containsExactly("PR-1");
+        assertThat(action.getIncludes()).isEqualTo("PR-*\nfeature/*");
     }
 
     @Test
@@ -203,11 +359,8 @@ class BlockPipelineActionTest {
 
     @Test
     void blockAddsPropertyOnlyOnce() throws Exception {
-        final Job<?, ?> job = mock(Job.class);
-        when(project.getAllJobs()).thenAnswer(x -> Collections.singletonList(job));
         final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
         doReturn(properties).when(project).getProperties();
-        when(job.getProperty(JobBlockedProperty.class)).thenReturn(null, new JobBlockedProperty());
         doReturn(formData("")).when(req).getSubmittedForm();
 
         final BlockPipelineAction action = createSpy();
@@ -215,16 +368,11 @@ class BlockPipelineActionTest {
         action.doBlock(req);
         action.doBlock(req);
 
-        verify(job).addProperty(any(JobBlockedProperty.class));
         assertThat(properties).hasSize(1);
     }
 
     @Test
-    void blockAddsPropertyToMultipleJobs() throws Exception {
-        final Job<?, ?> job0 = mock(Job.class);
-        final Job<?, ?> job1 = mock(Job.class);
-        final Job<?, ?> job2 = mock(Job.class);
-        when(project.getAllJobs()).thenAnswer(x -> Arrays.asList(job0, job1, job2));
+    void blockDoesNotWriteJobs() throws Exception {
         final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
         doReturn(properties).when(project).getProperties();
         doReturn(formData("")).when(req).getSubmittedForm();
@@ -233,18 +381,27 @@ class BlockPipelineActionTest {
         final HttpResponse resp = action.doBlock(req);
 
         assertThat(resp).isNotNull();
-        verify(job0).addProperty(any(JobBlockedProperty.class));
-        verify(job1).addProperty(any(JobBlockedProperty.class));
-        verify(job2).addProperty(any(JobBlockedProperty.class));
+        verify(project, never()).getAllJobs();
+        verify(action, never()).addBlockPropertyToJob(any());
         assertThat(properties).hasSize(1);
     }
 
+    @Test
+    void blockUpdatesIndex() throws Exception {
+        doReturn(emptyProjectProperties()).when(project).getProperties();
+        doReturn(formData("")).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+
+        verify(index).updateProject(project);
+    }
+
     @Test
     void unblockChecksPermission() throws IOException {
-        when(project.getAllJobs()).thenReturn(Collections.emptyList());
         when(project.getProperties()).thenReturn(emptyProjectProperties());
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         final HttpResponse resp = action.doUnblock(req);
 
         assertThat(resp).isNotNull();
@@ -254,10 +411,9 @@ class BlockPipelineActionTest {
     @Test
     void unblockDoesNothingIfNotBlocked() throws IOException {
         final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
-        when(project.getAllJobs()).thenReturn(Collections.emptyList());
         when(project.getProperties()).thenReturn(properties);
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         final HttpResponse resp = action.doUnblock(req);
 
         assertThat(resp).isNotNull();
@@ -267,10 +423,9 @@ class BlockPipelineActionTest {
     @Test
     void unblockRemovesPropertyFromProjectIfNoJobAvailable() throws IOException {
         final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = projectProperties();
-        when(project.getAllJobs()).thenReturn(Collections.emptyList());
         when(project.getProperties()).thenReturn(properties);
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         final HttpResponse resp = action.doUnblock(req);
 
         assertThat(resp).isNotNull();
@@ -279,43 +434,120 @@ class BlockPipelineActionTest {
 
     @Test
     void unblockRemovesProperty() throws IOException {
-        final Job<?, ?> job = mock(Job.class);
         final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = projectProperties();
-        when(project.getAllJobs()).thenAnswer(x -> Collections.singletonList(job));
         when(project.getProperties()).thenReturn(properties);
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
         final HttpResponse resp = action.doUnblock(req);
 
         assertThat(resp).isNotNull();
-        verify(job).removeProperty(JobBlockedProperty.class);
         assertThat(properties).isEmpty();
+        verify(index).updateProject(project);
     }
 
     @Test
-    void unblockRemovesPropertyFromMultipleJobs() throws IOException {
-        final Job<?, ?> job0 = mock(Job.class);
-        final Job<?, ?> job1 = mock(Job.class);
-        final Job<?, ?> job2 = mock(Job.class);
-        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = projectProperties();
-        when(project.getAllJobs()).thenAnswer(x -> Arrays.asList(job0, job1, job2));
+    void unblockWithDrainRateStartsDrain() throws IOException {
+        when(project.getProperties()).thenReturn(projectProperties());
+        when(project.getFullName()).thenReturn("project");
+        when(req.getParameter("drainRate")).thenReturn("10");
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+        action.doUnblock(req);
+
+        verify(index).startDrain("project", 10);
+        verify(index).updateProject(project);
+    }
+
+    @Test
+    void unblockWithoutDrainRateReleasesAll() throws IOException {
+        when(project.getProperties()).thenReturn(projectProperties());
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+        action.doUnblock(req);
+
+        verify(index, never()).startDrain(anyString(), anyInt());
+    }
+
+    @Test
+    void unblockRejectsInvalidDrainRate() {
+        when(req.getParameter("drainRate")).thenReturn("-1");
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        assertThat(action.doUnblock(req)).isInstanceOf(HttpResponses.HttpResponseException.class);
+        verify(project, never()).getProperties();
+    }
+
+    @Test
+    void throttleAddsProperty() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
         when(project.getProperties()).thenReturn(properties);
+        doReturn(new JSONObject().element("limit", 3)).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+        action.doThrottle(req);
+
+        assertThat(action.getThrottleLimit()).isEqualTo(3);
+        verify(index).updateProject(project);
+    }
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+    @Test
+    void throttleWithZeroRemovesProperty() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        properties.add(new ProjectThrottleProperty(3));
+        when(project.getProperties()).thenReturn(properties);
+        doReturn(new JSONObject().element("limit", 0)).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+        action.doThrottle(req);
+
+        assertThat(properties).isEmpty();
+        assertThat(action.getThrottleLimit()).isEqualTo(0);
+    }
+
+    @Test
+    void throttleRejectsNegativeLimit() throws Exception {
+        doReturn(new JSONObject().element("limit", -1)).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        assertThat(action.doThrottle(req)).isInstanceOf(HttpResponses.HttpResponseException.class);
+    }
+
+    @Test
+    void unblockKeepsJobOverrides() throws IOException {
+        when(project.getProperties()).thenReturn(projectProperties());
+
+        final BlockPipelineAction action = spy(new BlockPipelineAction(project, index, operations));
         final HttpResponse resp = action.doUnblock(req);
 
         assertThat(resp).isNotNull();
-        verify(job0).removeProperty(JobBlockedProperty.class);
-        verify(job1).removeProperty(JobBlockedProperty.class);
-        verify(job2).removeProperty(JobBlockedProperty.class);
-        assertThat(properties).isEmpty();
+        verify(project, never()).getAllJobs();
+        verify(action, never()).removeBlockPropertyFromJob(any());
+    }
+
+    @Test
+    void blockAndUnblockAreAudited() throws Exception {
+        final DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> properties = emptyProjectProperties();
+        doReturn(properties).when(project).getProperties();
+        doReturn("audited-project").when(project).getFullName();
+        doReturn(formData("audit message")).when(req).getSubmittedForm();
+
+        final BlockPipelineAction action = createSpy();
+        action.doBlock(req);
+        action.doUnblock(req);
+
+        final List<BlockEvent> events = BlockAudit.get().getEvents(e -> e.isWithin("audited-project"), 2);
+        assertThat(events.stream().map(BlockEvent::getType).collect(Collectors.toList()))
+                .containsExactly(BlockEvent.Type.UNBLOCK, BlockEvent.Type.BLOCK).inOrder();
+        assertThat(events.get(1).getMessage()).isEqualTo("audit message");
     }
 
     @Test
     void accessorsReturnNullIfNotBlocked() {
         when(project.getProperties()).thenReturn(emptyProjectProperties());
 
-        final BlockPipelineAction actionSpy = new BlockPipelineAction(project);
+        final BlockPipelineAction actionSpy = new BlockPipelineAction(project, index, operations);
 
         assertThat(actionSpy.getMessage()).isNull();
         assertThat(actionSpy.getTimestamp()).isNull();
@@ -343,7 +575,7 @@ class BlockPipelineActionTest {
         final Job<?, ?> unblocked = mock(Job.class);
         when(blocked.getProperty(JobBlockedProperty.class)).thenReturn(new JobBlockedProperty());
 
-        final BlockPipelineAction action = new BlockPipelineAction(project);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
 
         assertThat(action.isBlocked(blocked)).isTrue();
         assertThat(action.isBlocked(unblocked)).isFalse();
@@ -352,7 +584,7 @@ class BlockPipelineActionTest {
     @Test
     void blockJobChecksPermission() throws IOException {
         when(req.getParameter("job")).thenReturn("not-existing-job");
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doBlockJob(req);
         assertThat(resp).isNotNull();
@@ -365,18 +597,46 @@ class BlockPipelineActionTest {
         when(req.getParameter("job")).thenReturn("test-0");
         when(project.getJob("test-0")).thenReturn(job);
 
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
-        doNothing().when(actionSpy).addBlockPropertyToJob(any());
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
+        doNothing().when(actionSpy).addBlockPropertyToJob(any(), anyLong());
 
         final HttpResponse resp = actionSpy.doBlockJob(req);
         assertThat(resp).isNotNull();
-        verify(actionSpy).addBlockPropertyToJob(job);
+        verify(actionSpy).addBlockPropertyToJob(job, 0L);
+    }
+
+    @Test
+    void blockJobPassesExpiry() throws IOException {
+        final WorkflowJob job = new WorkflowJob(project, "test-0");
+        when(req.getParameter("job")).thenReturn("test-0");
+        when(req.getParameter("expiresIn")).thenReturn("30");
+        when(project.getJob("test-0")).thenReturn(job);
+
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
+        doNothing().when(actionSpy).addBlockPropertyToJob(any(), anyLong());
+        final long before = System.currentTimeMillis();
+
+        actionSpy.doBlockJob(req);
+        verify(actionSpy).addBlockPropertyToJob(eq(job), longThat(expiresAt -> expiresAt >= before + TimeUnit.MINUTES.toMillis(30)));
+    }
+
+    @Test
+    void blockJobRejectsInvalidExpiry() throws IOException {
+        final WorkflowJob job = new WorkflowJob(project, "test-0");
+        when(req.getParameter("job")).thenReturn("test-0");
+        when(req.getParameter("expiresIn")).thenReturn("abc");
+        when(project.getJob("test-0")).thenReturn(job);
+
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
+
+        assertThat(actionSpy.doBlockJob(req)).isInstanceOf(HttpResponses.HttpResponseException.class);
+        verify(actionSpy, never()).addBlockPropertyToJob(any(), anyLong());
     }
 
     @Test
     void blockJobDoesNotBlockJobIfNotAvailable() throws IOException {
         when(req.getParameter("job")).thenReturn("not-existing-job");
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doBlockJob(req);
         assertThat(resp).isNotNull();
@@ -384,7 +644,7 @@ class BlockPipelineActionTest {
 
     @Test
     void blockJobIsSafeToMissingParameter() throws IOException {
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doBlockJob(req);
         assertThat(resp).isNotNull();
@@ -393,7 +653,7 @@ class BlockPipelineActionTest {
     @Test
     void unblockJobChecksPermission() throws IOException {
         when(req.getParameter("job")).thenReturn("not-existing-job");
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doUnblockJob(req);
         assertThat(resp).isNotNull();
@@ -405,7 +665,7 @@ class BlockPipelineActionTest {
         final WorkflowJob job = new WorkflowJob(project, "test-0");
         when(req.getParameter("job")).thenReturn("test-0");
         when(project.getJob("test-0")).thenReturn(job);
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doUnblockJob(req);
         assertThat(resp).isNotNull();
@@ -415,7 +675,7 @@ class BlockPipelineActionTest {
     @Test
     void unblockJobDoesNotUnblockJobIfNotAvailable() throws IOException {
         when(req.getParameter("job")).thenReturn("not-existing-job");
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doUnblockJob(req);
         assertThat(resp).isNotNull();
@@ -423,12 +683,187 @@ class BlockPipelineActionTest {
 
     @Test
     void unblockJobIsSafeToMissingParameter() throws IOException {
-        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction actionSpy = spy(new BlockPipelineAction(project, index, operations));
 
         final HttpResponse resp = actionSpy.doUnblockJob(req);
         assertThat(resp).isNotNull();
     }
 
+    @Test
+    void blockReturnsOperationIfJsonIsAccepted() throws Exception {
+        doReturn(emptyProjectProperties()).when(project).getProperties();
+        doReturn(formData("")).when(req).getSubmittedForm();
+        when(req.getHeader("Accept")).thenReturn("application/json");
+
+        final BlockPipelineAction action = createSpy();
+        final HttpResponse resp = action.doBlock(req);
+
+        assertThat(resp).isNotNull();
+        assertThat(operations.getOperation(1)).isNotNull();
+        assertThat(operations.getOperation(1).getName()).isEqualTo("block");
+    }
+
+    @Test
+    void failedOperationReportsError() throws Exception {
+        when(project.getFullName()).thenReturn("project");
+        final BlockPipelineAction action = spy(new BlockPipelineAction(project, index, operations));
+        doThrow(new IOException("expected")).when(action).removeBlockProperty();
+
+        action.doUnblock(req);
+
+        final BlockOperation operation = operations.getOperation(1);
+        assertThat(operation).isNotNull();
+        assertThat(operation.getStatus()).isEqualTo(BlockOperation.Status.FAILED);
+        assertThat(operation.getError()).isEqualTo("expected");
+        assertThat(action.doOperation(1)).isNotNull();
+    }
+
+    @Test
+    void operationOfOtherProjectIsNotFound() {
+        when(project.getFullName()).thenReturn("project");
+        operations.submit("other", "block", operation -> {
+        });
+
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        assertThat(action.doOperation(1)).isInstanceOf(HttpResponses.HttpResponseException.class);
+    }
+
+    @Test
+    void blockJobsBlocksMatchingJobs() throws IOException {
+        final WorkflowJob main = createJob("main", false);
+        final WorkflowJob pr1 = createJob("PR-1", false);
+        final WorkflowJob pr2 = createJob("PR-2", true);
+        when(project.getItems()).thenReturn(List.of(main, pr1, pr2));
+        when(req.getReader()).thenReturn(jsonBody("{\"jobs\": [\"PR-*\", \"missing\"]}"));
+        final BlockPipelineAction action = spy(new BlockPipelineAction(project, index, operations));
+
+        final HttpResponse resp = action.doBlockJobs(req);
+
+        assertThat(resp).isNotNull();
+        verify(pr1).addProperty(any(JobBlockedProperty.class));
+        verify(pr1).save();
+        verify(pr2, never()).addProperty(any(JobBlockedProperty.class));
+        verify(main, never()).addProperty(any(JobBlockedProperty.class));
+        assertThat(operations.getOperation(1).getResults()).containsExactly(
+                "PR-1", "BLOCKED", "PR-2", "UNCHANGED", "missing", "NOT_FOUND");
+    }
+
+    @Test
+    void unblockJobsUnblocksMatchingJobs() throws IOException {
+        final WorkflowJob main = createJob("main", true);
+        final WorkflowJob release = createJob("release%2F1.0", true);
+        when(project.getItems()).thenReturn(List.of(main, release));
+        when(req.getReader()).thenReturn(jsonBody("{\"jobs\": [\"release/*\"]}"));
+        final BlockPipelineAction action = spy(new BlockPipelineAction(project, index, operations));
+
+        action.doUnblockJobs(req);
+
+        verify(release).removeProperty(JobBlockedProperty.class);
+        verify(main, never()).removeProperty(JobBlockedProperty.class);
+        assertThat(operations.getOperation(1).getTotal()).isEqualTo(1);
+        assertThat(operations.getOperation(1).getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void blockJobsRejectsInvalidRequest() throws IOException {
+        when(req.getReader()).thenReturn(jsonBody("{\"names\": []}"));
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        final HttpResponse resp = action.doBlockJobs(req);
+
+        assertThat(resp).isInstanceOf(HttpResponses.HttpResponseException.class);
+        assertThat(operations.getOperation(1)).isNull();
+    }
+
+    @Test
+    void listJobsReturnsPagesSortedByName() {
+        final WorkflowJob b = createJob("b", true);
+        final WorkflowJob a = createJob("a", false);
+        final WorkflowJob c = createJob("c", false);
+        when(project.getItemsStream()).thenAnswer(x -> Stream.of(b, a, c));
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        final JSONObject first = action.listJobs(null, 2, null, false, null);
+        final JSONObject second = action.listJobs(first.getString("next"), 2, null, false, null);
+
+        assertThat(jobNames(first)).containsExactly("a", "b").inOrder();
+        assertThat(first.getBoolean("more")).isTrue();
+        assertThat(first.getString("next")).isEqualTo("b");
+        assertThat(first.getJSONArray("jobs").getJSONObject(1).getBoolean("blocked")).isTrue();
+        assertThat(jobNames(second)).containsExactly("c");
+        assertThat(second.getBoolean("more")).isFalse();
+        assertThat(second.has("next")).isFalse();
+    }
+
+    @Test
+    void listJobsPagesDescendingAfterCursor() {
+        final WorkflowJob a = createJob("a", false);
+        final WorkflowJob b = createJob("b", false);
+        final WorkflowJob c = createJob("c", false);
+        when(project.getItemsStream()).thenAnswer(x -> Stream.of(a, b, c));
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        assertThat(jobNames(action.listJobs("c", 1, null, false, "-name"))).containsExactly("b");
+        assertThat(jobNames(action.listJobs("zzz", 10, null, false, null))).isEmpty();
+    }
+
+    @Test
+    void listJobsSortsDescending() {
+        final WorkflowJob a = createJob("a", false);
+        final WorkflowJob b = createJob("b", false);
+        when(project.getItemsStream()).thenAnswer(x -> Stream.of(a, b));
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        assertThat(jobNames(action.listJobs(null, 0, null, false, "-name"))).containsExactly("b", "a").inOrder();
+    }
+
+    @Test
+    void listJobsFiltersByName() {
+        final WorkflowJob main = createJob("main", false);
+        final WorkflowJob pr = createJob("PR-1", false);
+        when(project.getItemsStream()).thenAnswer(x -> Stream.of(main, pr));
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        assertThat(jobNames(action.listJobs(null, 10, " pr ", false, null))).containsExactly("PR-1");
+    }
+
+    @Test
+    void listJobsReturnsBlockedJobsFromIndex() {
+        final WorkflowJob blocked = createJob("blocked", false);
+        when(index.isReady()).thenReturn(true);
+        when(index.getBlockedJobs(project)).thenReturn(Set.of("blocked", "deleted"));
+        when(project.getJob(anyString())).thenAnswer(x -> "blocked".equals(x.getArgument(0)) ? blocked : null);
+        final BlockPipelineAction action = new BlockPipelineAction(project, index, operations);
+
+        final JSONObject result = action.listJobs(null, 10, null, true, null);
+
+        assertThat(jobNames(result)).containsExactly("blocked");
+        assertThat(result.getJSONArray("jobs").getJSONObject(0).getBoolean("blocked")).isTrue();
+        verify(project, never()).getItemsStream();
+    }
+
+    private List<String> jobNames(@NonNull JSONObject result) {
+        final List<String> names = new ArrayList<>();
+
+        for (final Object job : result.getJSONArray("jobs")) {
+            names.add(((JSONObject) job).getString("name"));
+        }
+        return names;
+    }
+
+    private WorkflowJob createJob(@NonNull String name, boolean blocked) {
+        final WorkflowJob job = mock(WorkflowJob.class);
+        when(job.getName()).thenReturn(name);
+        lenient().when(job.getDisplayName()).thenReturn(name);
+        lenient().when(job.getProperty(JobBlockedProperty.class)).thenReturn(blocked ? new JobBlockedProperty() : null);
+        return job;
+    }
+
+    private BufferedReader jsonBody(@NonNull String json) {
+        return new BufferedReader(new StringReader(json));
+    }
+
     private DescribableList<AbstractFolderProperty<?>, AbstractFolderPropertyDescriptor> projectProperties() {
         return new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("", "user")));
     }
@@ -445,7 +880,7 @@ class BlockPipelineActionTest {
         final User user = mock(User.class);
         doReturn("An UserName").when(user).getFullName();
 
-        final BlockPipelineAction action = spy(new BlockPipelineAction(project));
+        final BlockPipelineAction action = spy(new BlockPipelineAction(project, index, operations));
         doReturn(user).when(action).getCurrentUser();
         return action;
     }
@@ -25,9 +25,12 @@
 package io.jhnc.jenkins.plugins.workflow.queue;
 
 import hudson.model.AbstractProject;
+import hudson.model.Cause;
+import hudson.model.CauseAction;
 import hudson.model.FreeStyleProject;
 import hudson.model.Queue;
 import hudson.model.queue.CauseOfBlockage;
+import hudson.triggers.TimerTrigger;
 import hudson.util.DescribableList;
 import org.jenkinsci.plugins.workflow.job.WorkflowJob;
 import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
@@ -37,9 +40,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
+import java.util.List;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,14 +57,14 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void unrelatedItemsAreIgnored() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         final Queue.Item item = mock(Queue.Item.class);
         assertThat(dispatcher.canRun(item)).isNull();
     }
 
     @Test
     void unrelatedJobTypeIsIgnored() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         final FreeStyleProject job = mock(FreeStyleProject.class);
 
         assertThat(dispatcher.canRun(createItem(job))).isNull();
@@ -66,7 +72,7 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void unblockedJobIsExecuted() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         final AbstractProject<?, ?> job = mock(AbstractProject.class);
 
         assertThat(dispatcher.canRun(createItem(job))).isNull();
@@ -74,7 +80,7 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void blockedJobIsNotExecuted() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.emptyList()));
         final AbstractProject<?, ?> job = mock(AbstractProject.class);
         when(job.getParent()).thenAnswer(x -> project);
@@ -88,7 +94,7 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void blockedJobIsNotExecutedIfParentIsUnblocked() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.emptyList()));
         final AbstractProject<?, ?> job = mock(AbstractProject.class);
         when(job.getProperty(JobBlockedProperty.class)).thenReturn(new JobBlockedProperty());
@@ -102,7 +108,7 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void unblockedProjectIsExecuted() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.emptyList()));
         final WorkflowJob job = new WorkflowJob(project, "x");
         final CauseOfBlockage cause = dispatcher.canRun(createItem(job));
@@ -112,7 +118,7 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void blockedProjectIsNotExecuted() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("", "user"))));
         final WorkflowJob job = new WorkflowJob(project, "x");
         final CauseOfBlockage cause = dispatcher.canRun(createItem(job));
@@ -124,7 +130,7 @@ class BlockPipelineQueueDispatcherTest {
 
     @Test
     void blockedProjectWithCustomMessage() {
-        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(new BlockIndex());
         final ProjectBlockedProperty property = new ProjectBlockedProperty("a custom message", "user");
         when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
         final WorkflowJob job = new WorkflowJob(project, "x");
@@ -135,8 +141,174 @@ class BlockPipelineQueueDispatcherTest {
         assertThat(cause.getShortDescription()).contains("a custom message");
     }
 
+    @Test
+    void indexedJobIsBlockedWithoutPropertyLookup() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.emptyList()));
+        final AbstractProject<?, ?> job = mock(AbstractProject.class);
+        when(job.getParent()).thenAnswer(x -> project);
+        when(job.getName()).thenReturn("x");
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(new JobBlockedProperty());
+        index.rebuild(List.of(project, job));
+
+        final CauseOfBlockage cause = dispatcher.canRun(createItem(job));
+
+        assertThat(cause).isInstanceOf(BlockPipelineQueueDispatcher.JobBlockedCause.class);
+        verify(job, times(1)).getProperty(JobBlockedProperty.class);
+        verify(project, times(1)).getProperties();
+    }
+
+    @Test
+    void indexedProjectIsBlocked() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("indexed", "user"))));
+        index.rebuild(List.of(project));
+        final WorkflowJob job = new WorkflowJob(project, "x");
+
+        final CauseOfBlockage cause = dispatcher.canRun(createItem(job));
+
+        assertThat(cause).isNotNull();
+        assertThat(cause.getShortDescription()).contains("indexed");
+    }
+
+    @Test
+    void indexedProjectLetsUnselectedTriggersThrough() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setTriggers(List.of(TriggerCause.SCM, TriggerCause.TIMER));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        index.rebuild(List.of(project));
+        final WorkflowJob job = new WorkflowJob(project, "x");
+
+        assertThat(dispatcher.canRun(createItem(job, new TimerTrigger.TimerTriggerCause()))).isNotNull();
+        assertThat(dispatcher.canRun(createItem(job, new Cause.UserIdCause("admin")))).isNull();
+        assertThat(dispatcher.canRun(createItem(job, new Cause.UserIdCause("admin"), new TimerTrigger.TimerTriggerCause()))).isNull();
+    }
+
+    @Test
+    void foldedManualCauseReleasesQueuedItem() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setTriggers(List.of(TriggerCause.TIMER));
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        index.rebuild(List.of(project));
+        final CauseAction causes = new CauseAction(new TimerTrigger.TimerTriggerCause());
+        final Queue.Item item = new Queue.WaitingItem(null, new WorkflowJob(project, "x"), List.of(causes));
+
+        assertThat(dispatcher.canRun(item)).isNotNull();
+
+        causes.addCauses(List.of(new Cause.UserIdCause("admin")));
+
+        assertThat(dispatcher.canRun(item)).isNull();
+    }
+
+    @Test
+    void indexedUnblockedJobIsExecuted() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        when(project.getFullName()).thenReturn("project");
+        index.rebuild(Collections.emptyList());
+        final WorkflowJob job = new WorkflowJob(project, "x");
+
+        assertThat(dispatcher.canRun(createItem(job))).isNull();
+    }
+
+    @Test
+    void dispatchIsRecordedInMetrics() {
+        final BlockMetrics metrics = new BlockMetrics();
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher(index, metrics, new RunningBuilds());
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("", "user"))));
+        index.rebuild(List.of(project));
+
+        dispatcher.canRun(createItem(new WorkflowJob(project, "x")));
+        dispatcher.canRun(createItem(mock(FreeStyleProject.class)));
+        dispatcher.canRun(mock(Queue.Item.class));
+
+        assertThat(metrics.getCalls()).isEqualTo(2L);
+        assertThat(metrics.getBlocked()).isEqualTo(1L);
+        assertThat(metrics.getAllowed()).isEqualTo(1L);
+    }
+
+    @Test
+    void frozenControllerBlocksPipelinesBeforeIndexIsReady() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        when(project.getFullName()).thenReturn("project");
+        index.setFreeze("upgrade", List.of());
+
+        final CauseOfBlockage cause = dispatcher.canRun(createItem(new WorkflowJob(project, "x")));
+
+        assertThat(cause).isInstanceOf(BlockPipelineQueueDispatcher.FrozenCause.class);
+        assertThat(dispatcher.canRun(createItem(mock(FreeStyleProject.class)))).isNull();
+    }
+
+    @Test
+    void frozenControllerAllowsListedJobs() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        when(project.getFullName()).thenReturn("project");
+        index.rebuild(Collections.emptyList());
+        index.setFreeze("upgrade", List.of("project/main"));
+
+        assertThat(dispatcher.canRun(createItem(new WorkflowJob(project, "main")))).isNull();
+        assertThat(dispatcher.canRun(createItem(new WorkflowJob(project, "x")))).isNotNull();
+    }
+
+    @Test
+    void throttledProjectIsLimited() {
+        final BlockIndex index = new BlockIndex();
+        final BlockPipelineQueueDispatcher dispatcher = createDispatcher(index);
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectThrottleProperty(1))));
+        index.rebuild(List.of(project));
+        final WorkflowJob job = new WorkflowJob(project, "x");
+        final Queue.Item first = createItem(job);
+
+        assertThat(dispatcher.canRun(first)).isNull();
+        assertThat(dispatcher.canRun(first)).isNull();
+        final CauseOfBlockage cause = dispatcher.canRun(createItem(job));
+        assertThat(cause).isInstanceOf(BlockPipelineQueueDispatcher.ThrottledCause.class);
+        assertThat(cause.getShortDescription()).contains("1");
+    }
+
+    @Test
+    void throttledProjectAllowsBuildsAfterFinish() {
+        final BlockIndex index = new BlockIndex();
+        final RunningBuilds builds = new RunningBuilds();
+        final BlockPipelineQueueDispatcher dispatcher = new BlockPipelineQueueDispatcher(index, new BlockMetrics(), builds);
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectThrottleProperty(1))));
+        index.rebuild(List.of(project));
+        final WorkflowJob job = new WorkflowJob(project, "x");
+        builds.started("project", 0, "project/main#1");
+
+        final Queue.Item item = createItem(job);
+        assertThat(dispatcher.canRun(item)).isNotNull();
+
+        builds.finished("project", "project/main#1");
+        assertThat(dispatcher.canRun(item)).isNull();
+    }
+
+    private BlockPipelineQueueDispatcher createDispatcher(BlockIndex index) {
+        return new BlockPipelineQueueDispatcher(index, new BlockMetrics(), new RunningBuilds());
+    }
+
     private Queue.Item createItem(Queue.Task task) {
         return new Queue.WaitingItem(null, task, Collections.emptyList());
     }
 
+    private Queue.Item createItem(Queue.Task task, Cause... causes) {
+        return new Queue.WaitingItem(null, task, List.of(new CauseAction(causes)));
+    }
+
 }
\ No newline at end of file
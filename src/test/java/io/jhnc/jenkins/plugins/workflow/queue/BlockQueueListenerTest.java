@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.Cause;
+import hudson.model.CauseAction;
+import hudson.model.Queue;
+import hudson.util.DescribableList;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockQueueListenerTest {
+    @Mock
+    WorkflowMultiBranchProject project;
+    @Mock
+    Queue queue;
+
+
+    @Test
+    void unblockedJobIsNotCoalescing() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        index.rebuild(Collections.emptyList());
+
+        assertThat(new BlockQueueListener(index).isCoalescing(new WorkflowJob(project, "x"))).isFalse();
+    }
+
+    @Test
+    void blockedProjectWithoutOptionIsNotCoalescing() {
+        final BlockQueueListener listener = new BlockQueueListener(createIndex(false));
+
+        assertThat(listener.isCoalescing(new WorkflowJob(project, "x"))).isFalse();
+    }
+
+    @Test
+    void blockedProjectWithOptionIsCoalescing() {
+        final BlockQueueListener listener = new BlockQueueListener(createIndex(true));
+
+        assertThat(listener.isCoalescing(new WorkflowJob(project, "x"))).isTrue();
+    }
+
+    @Test
+    void olderItemsAreCancelledAndCausesMerged() {
+        final WorkflowJob job = new WorkflowJob(project, "x");
+        final Queue.Item older = createItem(job, new Cause.RemoteCause("host", "older"));
+        final Queue.Item newest = createItem(job, new Cause.RemoteCause("host", "newest"));
+        when(queue.getItems(job)).thenReturn(List.of(older, newest));
+
+        BlockQueueListener.coalesce(queue, newest);
+
+        verify(queue).cancel(older);
+        verify(queue, never()).cancel(newest);
+        assertThat(((CauseAction) newest.getActions().get(0)).getCauses()).hasSize(2);
+    }
+
+    @Test
+    void causesAreAddedIfNewestHasNone() {
+        final WorkflowJob job = new WorkflowJob(project, "x");
+        final Queue.Item older = createItem(job, new Cause.RemoteCause("host", "older"));
+        final Queue.Item newest = new Queue.WaitingItem(null, job, Collections.emptyList());
+        when(queue.getItems(job)).thenReturn(List.of(older, newest));
+
+        BlockQueueListener.coalesce(queue, newest);
+
+        verify(queue).cancel(older);
+        assertThat(newest.getActions()).hasSize(1);
+    }
+
+    private BlockIndex createIndex(boolean coalesce) {
+        final BlockIndex index = new BlockIndex();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "user");
+        property.setCoalesce(coalesce);
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        index.rebuild(List.of(project));
+        return index;
+    }
+
+    private Queue.Item createItem(Queue.Task task, Cause cause) {
+        return new Queue.WaitingItem(null, task, List.of(new CauseAction(cause)));
+    }
+}
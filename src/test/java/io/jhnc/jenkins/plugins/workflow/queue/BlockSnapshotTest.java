@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class BlockSnapshotTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void missingFileIsNotRead() {
+        final BlockSnapshot snapshot = new BlockSnapshot(new File(dir, "blocks.txt"), Runnable::run);
+
+        assertThat(snapshot.read()).isNull();
+    }
+
+    @Test
+    void emptySnapshotIsRead() {
+        final BlockSnapshot snapshot = new BlockSnapshot(new File(dir, "blocks.txt"), Runnable::run);
+        snapshot.write(List.of());
+
+        assertThat(snapshot.read()).isEmpty();
+    }
+
+    @Test
+    void savedBlocksAreRestored() {
+        final BlockSnapshot snapshot = new BlockSnapshot(new File(dir, "blocks.txt"), Runnable::run);
+        final BlockSummary project = BlockSummary.of("org/project", false, "tab\there\nand \\ newline", "user", 1000L, 2000L);
+        final BlockSummary job = BlockSummary.of("org/project/main", true, "", null, 0L, 0L);
+
+        snapshot.save(List.of(project, job));
+
+        assertThat(snapshot.read()).containsExactly(project, job).inOrder();
+    }
+
+    @Test
+    void invalidLinesAreSkipped() throws IOException {
+        final File file = new File(dir, "blocks.txt");
+        Files.writeString(file.toPath(), "# pipeline blocks v1\nX\ta\t0\t0\t\t\nP\tproject\tnan\t0\t\t\nP\tproject\t1\t0\t\tmsg\nbroken\n",
+                StandardCharsets.UTF_8);
+
+        final List<BlockSummary> blocks = new BlockSnapshot(file, Runnable::run).read();
+
+        assertThat(blocks).containsExactly(BlockSummary.of("project", false, "msg", null, 1L, 0L));
+    }
+
+    @Test
+    void unknownVersionIsIgnored() throws IOException {
+        final File file = new File(dir, "blocks.txt");
+        Files.writeString(file.toPath(), "# pipeline blocks v0\nP\tproject\t1\t0\t\tmsg\n", StandardCharsets.UTF_8);
+
+        assertThat(new BlockSnapshot(file, Runnable::run).read()).isNull();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.util.DescribableList;
+import jakarta.servlet.http.HttpServletResponse;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.StaplerResponse2;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlockStateTest {
+    @Mock
+    WorkflowMultiBranchProject project;
+    @Mock
+    StaplerRequest2 req;
+    @Mock
+    StaplerResponse2 rsp;
+
+
+    @Test
+    void unblockedProjectState() {
+        when(project.getFullName()).thenReturn("project");
+
+        final JSONObject state = BlockState.toJSON(new BlockIndex(), project);
+
+        assertThat(state.getString("name")).isEqualTo("project");
+        assertThat(state.getBoolean("blocked")).isFalse();
+        assertThat(state.getBoolean("frozen")).isFalse();
+        assertThat(state.has("cause")).isFalse();
+        assertThat(state.has("message")).isFalse();
+        assertThat(state.getJSONArray("blockedJobs")).isEmpty();
+    }
+
+    @Test
+    void blockedProjectState() {
+        final BlockIndex index = new BlockIndex();
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("a message", "user");
+        when(project.getFullName()).thenReturn("project");
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        index.updateProject(project);
+
+        final JSONObject state = BlockState.toJSON(index, project);
+
+        assertThat(state.getBoolean("blocked")).isTrue();
+        assertThat(state.getString("cause")).contains("a message");
+        assertThat(state.getString("message")).isEqualTo("a message");
+        assertThat(state.getString("user")).isEqualTo("user");
+        assertThat(state.getLong("timestamp")).isEqualTo(property.getTimestamp().getTime());
+    }
+
+    @Test
+    void blockWindowIsPartOfState() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final long version = index.getVersion();
+        index.updateSchedule("project", List.of(new BlockWindow("* * * * *", 5, "window")), System.currentTimeMillis());
+
+        final JSONObject state = BlockState.toJSON(index, project);
+
+        assertThat(index.getVersion()).isGreaterThan(version);
+        assertThat(state.getBoolean("blocked")).isTrue();
+        assertThat(state.getString("cause")).contains("window");
+        assertThat(state.has("message")).isFalse();
+        index.clear();
+    }
+
+    @Test
+    void freezeIsPartOfState() {
+        final BlockIndex index = new BlockIndex();
+        when(project.getFullName()).thenReturn("project");
+        final long version = index.getVersion();
+        index.setFreeze("upgrade", List.of());
+
+        final JSONObject state = BlockState.toJSON(index, project);
+
+        assertThat(index.getVersion()).isGreaterThan(version);
+        assertThat(state.getBoolean("frozen")).isTrue();
+    }
+
+    @Test
+    void etagDependsOnVersionAndNames() {
+        assertThat(BlockState.etag(1L, List.of("a"))).isEqualTo(BlockState.etag(1L, List.of("a")));
+        assertThat(BlockState.etag(1L, List.of("a"))).isNotEqualTo(BlockState.etag(2L, List.of("a")));
+        assertThat(BlockState.etag(1L, List.of("a"))).isNotEqualTo(BlockState.etag(1L, List.of("a", "b")));
+        assertThat(BlockState.etag(1L, List.of("a"))).startsWith("\"");
+    }
+
+    @Test
+    void etagChangesAcrossRestarts() {
+        assertThat(BlockState.etag(1L, 1L, List.of("a"))).isEqualTo(BlockState.etag(1L, 1L, List.of("a")));
+        assertThat(BlockState.etag(1L, 1L, List.of("a"))).isNotEqualTo(BlockState.etag(2L, 1L, List.of("a")));
+    }
+
+    @Test
+    void ifNoneMatchIsParsed() {
+        assertThat(BlockState.matches(null, "\"1\"")).isFalse();
+        assertThat(BlockState.matches("\"2\"", "\"1\"")).isFalse();
+        assertThat(BlockState.matches("\"2\", \"1\"", "\"1\"")).isTrue();
+        assertThat(BlockState.matches("W/\"1\"", "\"1\"")).isTrue();
+        assertThat(BlockState.matches("*", "\"1\"")).isTrue();
+    }
+
+    @Test
+    void matchingEtagReturnsNotModified() throws IOException {
+        when(req.getHeader("If-None-Match")).thenReturn("\"1\"");
+
+        BlockState.write(req, rsp, "\"1\"", () -> {
+            throw new AssertionError("unexpected serialization");
+        });
+
+        verify(rsp).setHeader("ETag", "\"1\"");
+        verify(rsp).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(rsp, never()).getWriter();
+    }
+
+    @Test
+    void changedStateIsWritten() throws IOException {
+        final StringWriter out = new StringWriter();
+        when(req.getHeader("If-None-Match")).thenReturn("\"1\"");
+        when(rsp.getWriter()).thenReturn(new PrintWriter(out));
+
+        BlockState.write(req, rsp, "\"2\"", () -> new JSONObject().element("blocked", true));
+
+        verify(rsp).setHeader("ETag", "\"2\"");
+        verify(rsp, never()).setStatus(anyInt());
+        assertThat(JSONObject.fromObject(out.toString()).getBoolean("blocked")).isTrue();
+    }
+}
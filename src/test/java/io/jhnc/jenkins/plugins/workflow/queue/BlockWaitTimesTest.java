@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.model.Queue;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockWaitTimesTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void releaseRecordsWaitSinceFirstBlock() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+        final Job<?, ?> job = createJob("project", "main");
+
+        waits.blocked(1L, job, 1000L);
+        waits.blocked(1L, job, 5000L);
+        waits.released(1L, 11_000L);
+        waits.released(1L, 20_000L);
+
+        assertThat(waits.getProject("project").getCount()).isEqualTo(1L);
+        assertThat(waits.getProject("project").getMaxMillis()).isEqualTo(10_000L);
+        assertThat(waits.getJobs("project").get("project/main").getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void discardedItemsAreNotRecorded() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+
+        waits.blocked(1L, mock(Job.class), 1000L);
+        waits.discard(1L);
+        waits.released(1L, 2000L);
+
+        assertThat(waits.getWaiting()).isEqualTo(0);
+        assertThat(waits.getProjects()).isEmpty();
+    }
+
+    @Test
+    void jobsAreListedPerProject() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+
+        waits.record("org/project", "org/project/main", 1000L, 0L);
+        waits.record("org/project", "org/project/dev", 1000L, 0L);
+        waits.record("org/project-2", "org/project-2/main", 1000L, 0L);
+
+        assertThat(waits.getJobs("org/project").keySet()).containsExactly("org/project/dev", "org/project/main").inOrder();
+    }
+
+    @Test
+    void evictRemovesItemAndChildren() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+        waits.record("org/project", "org/project/main", 1000L, 0L);
+        waits.record("org/project-2", "org/project-2/main", 1000L, 0L);
+
+        waits.evict("org/project");
+
+        assertThat(waits.getProjects().keySet()).containsExactly("org/project-2");
+        assertThat(waits.getJobs("org/project")).isEmpty();
+    }
+
+    @Test
+    void renameMovesItemAndChildren() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+        waits.record("org/project", "org/project/main", 1000L, 0L);
+        waits.record("org/project-2", "org/project-2/main", 1000L, 0L);
+
+        waits.rename("org/project", "org/renamed");
+
+        assertThat(waits.getProjects().keySet()).containsExactly("org/project-2", "org/renamed").inOrder();
+        assertThat(waits.getProject("org/renamed").getCount()).isEqualTo(1L);
+        assertThat(waits.getJobs("org/renamed").keySet()).containsExactly("org/renamed/main");
+        assertThat(waits.getJobs("org/project")).isEmpty();
+    }
+
+    @Test
+    void listenerRecordsWaitFromBlockedToBuildable() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+        final BlockWaitTimes.QueueListenerImpl listener = new BlockWaitTimes.QueueListenerImpl(waits);
+        final Queue.WaitingItem item = new Queue.WaitingItem(null, createJob("project", "main"), Collections.emptyList());
+
+        listener.onEnterBlocked(new Queue.BlockedItem(item, new BlockPipelineQueueDispatcher.JobBlockedCause(null)));
+
+        assertThat(waits.getWaiting()).isEqualTo(1);
+
+        listener.onEnterBuildable(new Queue.BuildableItem(item));
+
+        assertThat(waits.getWaiting()).isEqualTo(0);
+        assertThat(waits.getProject("project").getCount()).isEqualTo(1L);
+        assertThat(waits.getJobs("project")).containsKey("project/main");
+    }
+
+    @Test
+    void listenerIgnoresOtherBlockages() {
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+        final BlockWaitTimes.QueueListenerImpl listener = new BlockWaitTimes.QueueListenerImpl(waits);
+        final Queue.WaitingItem item = new Queue.WaitingItem(null, mock(WorkflowJob.class), Collections.emptyList());
+
+        listener.onEnterBlocked(new Queue.BlockedItem(item, new BlockPipelineQueueDispatcher.ThrottledCause(1)));
+
+        assertThat(waits.getWaiting()).isEqualTo(0);
+    }
+
+    @Test
+    void statsAreSavedAndLoaded() {
+        final File file = new File(dir, "waits.txt");
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+        waits.load(file);
+
+        waits.record("org/project", "org/project/main", 1500L, 0L);
+        waits.record("org/project", "org/project/main", 70_000L, 0L);
+
+        final BlockWaitTimes restored = new BlockWaitTimes(Runnable::run);
+        restored.load(file);
+
+        assertThat(restored.getProject("org/project").format()).isEqualTo(waits.getProject("org/project").format());
+        assertThat(restored.getJobs("org/project")).isEmpty();
+    }
+
+    @Test
+    void invalidLinesAreSkipped() throws IOException {
+        final File file = new File(dir, "waits.txt");
+        Files.writeString(file.toPath(), "# pipeline block waits v1\nbroken\nproject\tx\t0\t0\t0\t\n", StandardCharsets.UTF_8);
+        final BlockWaitTimes waits = new BlockWaitTimes(Runnable::run);
+
+        waits.load(file);
+
+        assertThat(waits.getProjects()).isEmpty();
+    }
+
+    private static WorkflowJob createJob(String project, String name) {
+        final ItemGroup<?> parent = mock(ItemGroup.class);
+        when(parent.getFullName()).thenReturn(project);
+        final WorkflowJob job = mock(WorkflowJob.class);
+        when(job.getFullName()).thenReturn(project + "/" + name);
+        when(job.getParent()).thenAnswer(x -> parent);
+        return job;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class BranchFilterTest {
+
+    @Test
+    void emptyPatternsReturnNoFilter() {
+        assertThat(BranchFilter.of(List.of(), List.of(" "))).isNull();
+    }
+
+    @Test
+    void includesLimitMatches() {
+        final BranchFilter filter = BranchFilter.of(List.of("PR-*", "main"), List.of());
+
+        assertThat(filter.matches("PR-12")).isTrue();
+        assertThat(filter.matches("main")).isTrue();
+        assertThat(filter.matches("develop")).isFalse();
+    }
+
+    @Test
+    void excludesWinOverIncludes() {
+        final BranchFilter filter = BranchFilter.of(List.of("PR-*"), List.of("PR-1"));
+
+        assertThat(filter.matches("PR-1")).isFalse();
+        assertThat(filter.matches("PR-10")).isTrue();
+    }
+
+    @Test
+    void excludesOnlyMatchEverythingElse() {
+        final BranchFilter filter = BranchFilter.of(List.of(), List.of("main", "release/*"));
+
+        assertThat(filter.matches("main")).isFalse();
+        assertThat(filter.matches("PR-1")).isTrue();
+    }
+
+    @Test
+    void encodedJobNamesMatchBranchPatterns() {
+        final BranchFilter filter = BranchFilter.of(List.of(), List.of("release/*"));
+
+        assertThat(filter.matches("release%2F1.0")).isFalse();
+        assertThat(filter.matches("feature%2Fx")).isTrue();
+    }
+
+    @Test
+    void repeatedMatchesReturnSameResult() {
+        final BranchFilter filter = BranchFilter.of(List.of("a?"), List.of());
+
+        assertThat(filter.matches("ab")).isTrue();
+        assertThat(filter.matches("ab")).isTrue();
+        assertThat(filter.matches("abc")).isFalse();
+        assertThat(filter.matches("abc")).isFalse();
+    }
+
+    @Test
+    void evictedJobIsRemovedFromCache() {
+        final BranchFilter filter = BranchFilter.of(List.of("a?"), List.of());
+        filter.matches("ab");
+        filter.matches("ac");
+
+        filter.evict("ab");
+
+        assertThat(filter.getCached()).isEqualTo(1);
+        assertThat(filter.matches("ab")).isTrue();
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.Executor;
+import hudson.model.Queue;
+import hudson.model.Result;
+import hudson.model.Run;
+import jenkins.model.CauseOfInterruption;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BuildCancellerTest {
+    @Mock
+    Queue queue;
+    @Mock
+    Executor executor;
+    @Mock
+    Run<?, ?> run;
+    @Mock
+    WorkflowJob job;
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    private final BuildCanceller canceller = new BuildCanceller(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void cancelsQueuedItems() throws IOException {
+        final Queue.Item item = createItem();
+        when(queue.cancel(item)).thenReturn(true);
+        final BlockOperation operation = createOperation();
+
+        canceller.cancel(operation, List.of(BuildCanceller.Target.queued(queue, "main", item)));
+
+        assertThat(operation.getResults()).containsExactly("main (queue item " + item.getId() + ")", "CANCELLED");
+        assertThat(operation.getCompleted()).isEqualTo(1);
+        assertThat(operation.getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsItemsAlreadyLeftTheQueue() throws IOException {
+        final Queue.Item item = createItem();
+        when(queue.cancel(item)).thenReturn(false);
+        final BlockOperation operation = createOperation();
+
+        canceller.cancel(operation, List.of(BuildCanceller.Target.queued(queue, "main", item)));
+
+        assertThat(operation.getResults()).containsExactly("main (queue item " + item.getId() + ")", "UNCHANGED");
+    }
+
+    @Test
+    void abortsRunningBuilds() throws IOException {
+        doReturn(job).when(run).getParent();
+        when(job.getName()).thenReturn("main");
+        when(run.getNumber()).thenReturn(3);
+        doReturn(run).when(executor).getCurrentExecutable();
+        final BlockOperation operation = createOperation();
+
+        canceller.cancel(operation, List.of(BuildCanceller.Target.running(executor, run, "user")));
+
+        assertThat(operation.getResults()).containsExactly("main #3", "ABORTED");
+        verify(executor).interrupt(eq(Result.ABORTED), any(CauseOfInterruption.UserInterruption.class));
+    }
+
+    @Test
+    void skipsFinishedBuilds() throws IOException {
+        doReturn(job).when(run).getParent();
+        when(job.getName()).thenReturn("main");
+        when(run.getNumber()).thenReturn(3);
+        doReturn(null).when(executor).getCurrentExecutable();
+        final BlockOperation operation = createOperation();
+
+        canceller.cancel(operation, List.of(BuildCanceller.Target.running(executor, run, "user")));
+
+        assertThat(operation.getResults()).containsExactly("main #3", "UNCHANGED");
+        verify(executor, never()).interrupt(any(Result.class), any(CauseOfInterruption.class));
+    }
+
+    @Test
+    void reportsFailures() throws IOException {
+        final Queue.Item item = createItem();
+        when(queue.cancel(item)).thenThrow(new IllegalStateException("broken"));
+        final BlockOperation operation = createOperation();
+
+        canceller.cancel(operation, List.of(BuildCanceller.Target.queued(queue, "main", item)));
+
+        assertThat(operation.getResults()).containsExactly("main (queue item " + item.getId() + ")", "FAILED: broken");
+        assertThat(operation.getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelsAllTargets() throws IOException {
+        final BlockOperation operation = createOperation();
+        final Queue.Item first = createItem();
+        final Queue.Item second = createItem();
+        final Queue.Item third = createItem();
+        when(queue.cancel(any(Queue.Item.class))).thenReturn(true);
+
+        canceller.cancel(operation, List.of(BuildCanceller.Target.queued(queue, "a", first),
+                BuildCanceller.Target.queued(queue, "b", second), BuildCanceller.Target.queued(queue, "c", third)));
+
+        assertThat(operation.getCompleted()).isEqualTo(3);
+        assertThat(operation.getResults().values()).containsExactly("CANCELLED", "CANCELLED", "CANCELLED");
+    }
+
+    private Queue.Item createItem() {
+        return new Queue.WaitingItem(null, mock(Queue.Task.class), Collections.emptyList());
+    }
+
+    private static BlockOperation createOperation() {
+        return new BlockOperation(1, "project", "blockAndCancel", operation -> {
+        }, mock(Authentication.class));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class GlobMatcherTest {
+    @Test
+    void matchesLiterals() {
+        final GlobMatcher matcher = GlobMatcher.compile(List.of("main", "develop"));
+
+        assertThat(matcher.matches("main")).isTrue();
+        assertThat(matcher.matches("develop")).isTrue();
+        assertThat(matcher.matches("mai")).isFalse();
+        assertThat(matcher.getLiterals()).containsExactly("main", "develop");
+    }
+
+    @Test
+    void matchesWildcards() {
+        final GlobMatcher matcher = GlobMatcher.compile(List.of("PR-*", "release/?.*"));
+
+        assertThat(matcher.matches("PR-1")).isTrue();
+        assertThat(matcher.matches("PR-")).isTrue();
+        assertThat(matcher.matches("release/1.0")).isTrue();
+        assertThat(matcher.matches("release/10.0")).isFalse();
+        assertThat(matcher.matches("main")).isFalse();
+        assertThat(matcher.getLiterals()).isEmpty();
+    }
+
+    @Test
+    void starMatchesAcrossSegments() {
+        assertThat(GlobMatcher.matches("*", "")).isTrue();
+        assertThat(GlobMatcher.matches("a*b*c", "aXbYbZc")).isTrue();
+        assertThat(GlobMatcher.matches("a*b*c", "aXbYbZ")).isFalse();
+        assertThat(GlobMatcher.matches("**a", "bba")).isTrue();
+        assertThat(GlobMatcher.matches("?", "")).isFalse();
+    }
+
+    @Test
+    void ignoresBlankPatterns() {
+        final GlobMatcher matcher = GlobMatcher.compile(List.of(" ", "", " main "));
+
+        assertThat(matcher.isEmpty()).isFalse();
+        assertThat(matcher.matches("main")).isTrue();
+        assertThat(GlobMatcher.compile(List.of("  ")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        final GlobMatcher matcher = GlobMatcher.compile(List.of());
+
+        assertThat(matcher.isEmpty()).isTrue();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches("main")).isFalse();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.Job;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.mixin.ChangeRequestSCMHead;
+import jenkins.scm.api.mixin.TagSCMHead;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class HeadCategoriesTest {
+    @Test
+    void categoryOfHeads() {
+        assertThat(HeadCategory.of(new SCMHead("main"))).isEqualTo(HeadCategory.BRANCH);
+        assertThat(HeadCategory.of(null)).isEqualTo(HeadCategory.BRANCH);
+        assertThat(HeadCategory.of(createHead(ChangeRequestSCMHead.class))).isEqualTo(HeadCategory.CHANGE_REQUEST);
+        assertThat(HeadCategory.of(createHead(TagSCMHead.class))).isEqualTo(HeadCategory.TAG);
+    }
+
+    @Test
+    void maskCombinesCategories() {
+        assertThat(HeadCategory.mask(List.of())).isEqualTo(0);
+        assertThat(HeadCategory.mask(List.of(HeadCategory.CHANGE_REQUEST, HeadCategory.TAG)))
+                .isEqualTo(HeadCategory.CHANGE_REQUEST.getMask() | HeadCategory.TAG.getMask());
+    }
+
+    @Test
+    void categoryIsResolvedOncePerJob() {
+        final AtomicInteger lookups = new AtomicInteger();
+        final SCMHead head = createHead(ChangeRequestSCMHead.class);
+        final HeadCategories categories = new HeadCategories(item -> {
+            lookups.incrementAndGet();
+            return head;
+        });
+        final Job<?, ?> job = createJob("project/PR-1");
+
+        assertThat(categories.getCategory(job)).isEqualTo(HeadCategory.CHANGE_REQUEST);
+        assertThat(categories.getCategory(job)).isEqualTo(HeadCategory.CHANGE_REQUEST);
+        assertThat(lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    void replacedJobDoesNotAddEntry() {
+        final HeadCategories categories = new HeadCategories(item -> null);
+        categories.getCategory(createJob("project/main"));
+
+        categories.getCategory(createJob("project/main"));
+
+        assertThat(categories.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictDropsJobsOfProject() {
+        final HeadCategories categories = new HeadCategories(item -> null);
+        final Job<?, ?> job = createJob("project/main");
+        final Job<?, ?> other = createJob("other/main");
+        categories.getCategory(job);
+        categories.getCategory(other);
+
+        categories.evict("project");
+
+        assertThat(categories.size()).isEqualTo(1);
+    }
+
+    private static Job<?, ?> createJob(String fullName) {
+        final Job<?, ?> job = mock(Job.class);
+        when(job.getFullName()).thenReturn(fullName);
+        return job;
+    }
+
+    private static SCMHead createHead(Class<?> mixin) {
+        return mock(SCMHead.class, withSettings().extraInterfaces(mixin));
+    }
+}
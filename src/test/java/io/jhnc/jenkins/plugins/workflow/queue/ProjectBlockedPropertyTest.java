@@ -1,9 +1,20 @@
 package io.jhnc.jenkins.plugins.workflow.queue;
 
+import hudson.util.DescribableList;
 import org.apache.commons.lang.reflect.FieldUtils;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class ProjectBlockedPropertyTest {
     @Test
@@ -12,12 +23,106 @@ class ProjectBlockedPropertyTest {
         FieldUtils.writeDeclaredField(property, "message", null, true);
         FieldUtils.writeDeclaredField(property, "timestamp", null, true);
         FieldUtils.writeDeclaredField(property, "user", null, true);
+        FieldUtils.writeDeclaredField(property, "includes", null, true);
+        FieldUtils.writeDeclaredField(property, "excludes", null, true);
+        FieldUtils.writeDeclaredField(property, "triggers", null, true);
+        FieldUtils.writeDeclaredField(property, "categories", null, true);
 
         final Object result = property.readResolve();
 
         assertThat(property.getMessage()).isNotNull();
         assertThat(property.getTimestamp()).isNotNull();
         assertThat(property.getUser()).isNotNull();
+        assertThat(property.getIncludes()).isEmpty();
+        assertThat(property.getExcludes()).isEmpty();
+        assertThat(property.getTriggers()).isEmpty();
+        assertThat(property.getCategories()).isEmpty();
         assertThat(property).isSameInstanceAs(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void propertyWithoutTriggersBlocksAllTriggers() {
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "");
+
+        assertThat(property.getTriggerMask()).isEqualTo(0);
+        assertThat(property.blocksTriggers(TriggerCause.USER.getMask())).isTrue();
+    }
+
+    @Test
+    void propertyBlocksOnlySelectedCategories() {
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "");
+        assertThat(property.blocksCategory(HeadCategory.BRANCH)).isTrue();
+
+        property.setCategories(List.of(HeadCategory.CHANGE_REQUEST));
+
+        assertThat(property.blocksCategory(HeadCategory.CHANGE_REQUEST)).isTrue();
+        assertThat(property.blocksCategory(HeadCategory.BRANCH)).isFalse();
+        assertThat(property.blocksCategory(HeadCategory.TAG)).isFalse();
+    }
+
+    @Test
+    void propertyBlocksOnlySelectedTriggers() {
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "");
+        property.setTriggers(List.of(TriggerCause.SCM, TriggerCause.TIMER));
+
+        assertThat(property.blocksTriggers(TriggerCause.SCM.getMask())).isTrue();
+        assertThat(property.blocksTriggers(TriggerCause.SCM.getMask() | TriggerCause.TIMER.getMask())).isTrue();
+        assertThat(property.blocksTriggers(TriggerCause.USER.getMask())).isFalse();
+        assertThat(property.blocksTriggers(TriggerCause.TIMER.getMask() | TriggerCause.USER.getMask())).isFalse();
+    }
+
+    @Test
+    void propertyWithoutPatternsAppliesToAllJobs() {
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "");
+
+        assertThat(property.getFilter()).isNull();
+        assertThat(property.appliesTo("any")).isTrue();
+    }
+
+    @Test
+    void propertyWithPatternsAppliesToMatchingJobs() {
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "");
+        property.setIncludes(List.of("PR-*"));
+
+        assertThat(property.appliesTo("PR-1")).isTrue();
+        assertThat(property.appliesTo("main")).isFalse();
+
+        property.setIncludes(List.of());
+        assertThat(property.appliesTo("main")).isTrue();
+    }
+
+    @Test
+    void newPropertyIsInherited() {
+        assertThat(new ProjectBlockedProperty("", "").isInherited()).isTrue();
+    }
+
+    @Test
+    void migrationRemovesFannedOutJobProperties() throws IllegalAccessException, IOException {
+        final ProjectBlockedProperty property = new ProjectBlockedProperty("", "");
+        FieldUtils.writeDeclaredField(property, "inherited", false, true);
+        final WorkflowMultiBranchProject project = mock(WorkflowMultiBranchProject.class);
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(property)));
+        final WorkflowJob blocked = mock(WorkflowJob.class);
+        when(blocked.getProperty(JobBlockedProperty.class)).thenReturn(new JobBlockedProperty());
+        final WorkflowJob unblocked = mock(WorkflowJob.class);
+        when(project.getItems()).thenReturn(List.of(blocked, unblocked));
+
+        ProjectBlockedProperty.migrateJobProperties(project);
+
+        verify(blocked).removeProperty(JobBlockedProperty.class);
+        verify(unblocked, never()).removeProperty(JobBlockedProperty.class);
+        verify(project).save();
+        assertThat(property.isInherited()).isTrue();
+    }
+
+    @Test
+    void migrationSkipsInheritedProperty() throws IOException {
+        final WorkflowMultiBranchProject project = mock(WorkflowMultiBranchProject.class);
+        when(project.getProperties()).thenReturn(new DescribableList<>(project, Collections.singleton(new ProjectBlockedProperty("", ""))));
+
+        ProjectBlockedProperty.migrateJobProperties(project);
+
+        verify(project, never()).getItems();
+        verify(project, never()).save();
+    }
+}
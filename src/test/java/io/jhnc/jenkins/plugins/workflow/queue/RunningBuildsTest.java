@@ -0,0 +1,181 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.ItemGroup;
+import hudson.model.Job;
+import hudson.model.Run;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RunningBuildsTest {
+
+    @Test
+    void acquireUpToLimit() {
+        final RunningBuilds builds = new RunningBuilds();
+
+        assertThat(builds.tryAcquire("p", 1, 2)).isTrue();
+        assertThat(builds.tryAcquire("p", 2, 2)).isTrue();
+        assertThat(builds.tryAcquire("p", 3, 2)).isFalse();
+        assertThat(builds.tryAcquire("other", 4, 2)).isTrue();
+        assertThat(builds.getRunning("p")).isEqualTo(2);
+    }
+
+    @Test
+    void acquiredItemKeepsSlot() {
+        final RunningBuilds builds = new RunningBuilds();
+
+        assertThat(builds.tryAcquire("p", 1, 1)).isTrue();
+        assertThat(builds.tryAcquire("p", 1, 1)).isTrue();
+        assertThat(builds.getRunning("p")).isEqualTo(1);
+    }
+
+    @Test
+    void startedBuildUsesReservedSlot() {
+        final RunningBuilds builds = new RunningBuilds();
+        builds.tryAcquire("p", 1, 2);
+
+        builds.started("p", 1, "p/a#1");
+        builds.started("p", 2, "p/a#2");
+
+        assertThat(builds.getRunning("p")).isEqualTo(2);
+        assertThat(builds.tryAcquire("p", 3, 2)).isFalse();
+    }
+
+    @Test
+    void finishedBuildReleasesSlot() {
+        final RunningBuilds builds = new RunningBuilds();
+        builds.started("p", 1, "p/a#1");
+        assertThat(builds.tryAcquire("p", 2, 1)).isFalse();
+
+        builds.finished("p", "p/a#1");
+
+        assertThat(builds.getRunning("p")).isEqualTo(0);
+        assertThat(builds.tryAcquire("p", 2, 1)).isTrue();
+    }
+
+    @Test
+    void cancelledItemReleasesSlot() {
+        final RunningBuilds builds = new RunningBuilds();
+        builds.tryAcquire("p", 1, 1);
+
+        builds.cancelled("p", 1);
+        builds.cancelled("p", 1);
+
+        assertThat(builds.getRunning("p")).isEqualTo(0);
+    }
+
+    @Test
+    void unknownBuildDoesNotReleaseSlot() {
+        final RunningBuilds builds = new RunningBuilds();
+        builds.started("p", 1, "p/a#1");
+
+        builds.finished("p", "p/a#2");
+        builds.finished("unknown", "p/a#1");
+
+        assertThat(builds.getRunning("p")).isEqualTo(1);
+
+        builds.finished("p", "p/a#1");
+        builds.finished("p", "p/a#1");
+
+        assertThat(builds.getRunning("p")).isEqualTo(0);
+    }
+
+    @Test
+    void concurrentAcquireKeepsLimit() {
+        final RunningBuilds builds = new RunningBuilds();
+
+        final long acquired = LongStream.range(0, 1000).parallel()
+                .filter(id -> builds.tryAcquire("p", id, 10))
+                .count();
+
+        assertThat(acquired).isEqualTo(10);
+        assertThat(builds.getRunning("p")).isEqualTo(10);
+    }
+
+    @Test
+    void removedProjectDropsCounters() {
+        final RunningBuilds builds = new RunningBuilds();
+        builds.started("folder/p", 1, "folder/p/a#1");
+        builds.started("folder/other", 2, "folder/other/a#1");
+        builds.started("folder-2/p", 3, "folder-2/p/a#1");
+
+        builds.remove("folder");
+
+        assertThat(builds.getRunning("folder/p")).isEqualTo(0);
+        assertThat(builds.getRunning("folder/other")).isEqualTo(0);
+        assertThat(builds.getRunning("folder-2/p")).isEqualTo(1);
+    }
+
+    @Test
+    void renamedProjectKeepsCounters() {
+        final RunningBuilds builds = new RunningBuilds();
+        builds.started("folder/p", 1, "folder/p/a#1");
+        builds.tryAcquire("folder", 2, 1);
+
+        builds.rename("folder", "renamed");
+
+        assertThat(builds.getRunning("folder/p")).isEqualTo(0);
+        assertThat(builds.getRunning("renamed/p")).isEqualTo(1);
+        assertThat(builds.getRunning("renamed")).isEqualTo(1);
+        assertThat(builds.tryAcquire("renamed", 3, 1)).isFalse();
+
+        builds.finished("renamed/p", "folder/p/a#1");
+
+        assertThat(builds.getRunning("renamed/p")).isEqualTo(0);
+    }
+
+    @Test
+    void seedCountsBuildsInProgress() {
+        final RunningBuilds builds = new RunningBuilds();
+        final ItemGroup<?> parent = mock(ItemGroup.class);
+        final Job<?, ?> job = mock(Job.class);
+        final Run<?, ?> last = mock(Run.class);
+        final Run<?, ?> previous = mock(Run.class);
+        when(parent.getFullName()).thenReturn("p");
+        doReturn(parent).when(job).getParent();
+        doReturn(last).when(job).getLastBuild();
+        when(last.isBuilding()).thenReturn(true);
+        when(last.getExternalizableId()).thenReturn("p/a#2");
+        doReturn(previous).when(last).getPreviousBuildInProgress();
+        when(previous.getExternalizableId()).thenReturn("p/a#1");
+
+        builds.seed(List.of(job));
+        builds.seed(List.of(job));
+
+        assertThat(builds.getRunning("p")).isEqualTo(2);
+
+        builds.finished("p", "p/a#1");
+
+        assertThat(builds.getRunning("p")).isEqualTo(1);
+    }
+}
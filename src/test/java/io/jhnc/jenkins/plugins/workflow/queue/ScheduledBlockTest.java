@@ -0,0 +1,99 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ScheduledBlockTest {
+
+    @Test
+    void openWindowIsActive() {
+        final long now = time(10, 10);
+        final ScheduledBlock block = ScheduledBlock.compute("p", List.of(new BlockWindow("0 * * * *", 30, "nightly")), now);
+
+        assertThat(block.isActive(now)).isTrue();
+        assertThat(block.getFrom().getTime()).isEqualTo(time(10, 0));
+        assertThat(block.getUntil().getTime()).isEqualTo(time(10, 30));
+        assertThat(block.getCause().getShortDescription()).contains("nightly");
+    }
+
+    @Test
+    void closedWindowPointsToNextWindow() {
+        final long now = time(10, 40);
+        final ScheduledBlock block = ScheduledBlock.compute("p", List.of(new BlockWindow("0 * * * *", 30, "")), now);
+
+        assertThat(block.isActive(now)).isFalse();
+        assertThat(block.getFrom().getTime()).isEqualTo(time(11, 0));
+        assertThat(block.isActive(time(11, 15))).isTrue();
+        assertThat(block.isActive(time(11, 30))).isFalse();
+    }
+
+    @Test
+    void activeWindowIsPreferred() {
+        final long now = time(10, 10);
+        final ScheduledBlock block = ScheduledBlock.compute("p", List.of(
+                new BlockWindow("15 * * * *", 10, "later"),
+                new BlockWindow("0 10 * * *", 60, "active")), now);
+
+        assertThat(block.isActive(now)).isTrue();
+        assertThat(block.getCause().getShortDescription()).contains("active");
+    }
+
+    @Test
+    void earliestUpcomingWindowIsSelected() {
+        final long now = time(10, 40);
+        final ScheduledBlock block = ScheduledBlock.compute("p", List.of(
+                new BlockWindow("0 12 * * *", 10, ""),
+                new BlockWindow("50 10 * * *", 10, "")), now);
+
+        assertThat(block.getFrom().getTime()).isEqualTo(time(10, 50));
+    }
+
+    @Test
+    void invalidWindowIsIgnored() {
+        assertThat(ScheduledBlock.compute("p", List.of(new BlockWindow("not a cron", 10, "")), time(10, 0))).isNull();
+    }
+
+    @Test
+    void impossibleWindowIsIgnored() {
+        final ScheduledBlock block = ScheduledBlock.compute("p", List.of(
+                new BlockWindow("H H 30 2 *", 10, ""),
+                new BlockWindow("0 12 * * *", 10, "")), time(10, 0));
+
+        assertThat(block.getFrom().getTime()).isEqualTo(time(12, 0));
+    }
+
+    private static long time(int hour, int minute) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2026, Calendar.JANUARY, 5, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
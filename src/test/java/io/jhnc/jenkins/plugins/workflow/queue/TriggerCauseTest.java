@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.model.Cause;
+import hudson.model.CauseAction;
+import hudson.triggers.SCMTrigger;
+import hudson.triggers.TimerTrigger;
+import jenkins.branch.BranchIndexingCause;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TriggerCauseTest {
+    @Test
+    void classifiesCauses() {
+        assertThat(TriggerCause.of(new Cause.UserIdCause("admin"))).isEqualTo(TriggerCause.USER);
+        assertThat(TriggerCause.of(new SCMTrigger.SCMTriggerCause(""))).isEqualTo(TriggerCause.SCM);
+        assertThat(TriggerCause.of(new TimerTrigger.TimerTriggerCause())).isEqualTo(TriggerCause.TIMER);
+        assertThat(TriggerCause.of(mock(BranchIndexingCause.class))).isEqualTo(TriggerCause.INDEXING);
+        assertThat(TriggerCause.of(mock(Cause.UpstreamCause.class))).isEqualTo(TriggerCause.UPSTREAM);
+        assertThat(TriggerCause.of(new Cause.RemoteCause("host", "note"))).isEqualTo(TriggerCause.OTHER);
+    }
+
+    @Test
+    void maskCombinesCauses() {
+        assertThat(TriggerCause.mask(List.of())).isEqualTo(0);
+        assertThat(TriggerCause.mask(List.of(TriggerCause.SCM, TriggerCause.TIMER)))
+                .isEqualTo(TriggerCause.SCM.getMask() | TriggerCause.TIMER.getMask());
+    }
+
+    @Test
+    void classifyCombinesAllCauseActions() {
+        final int mask = TriggerCause.classify(List.of(new CauseAction(new Cause.UserIdCause("admin")),
+                new CauseAction(new TimerTrigger.TimerTriggerCause())));
+
+        assertThat(mask).isEqualTo(TriggerCause.USER.getMask() | TriggerCause.TIMER.getMask());
+    }
+
+    @Test
+    void classifyWithoutCausesIsOther() {
+        assertThat(TriggerCause.classify(List.of())).isEqualTo(TriggerCause.OTHER.getMask());
+    }
+}
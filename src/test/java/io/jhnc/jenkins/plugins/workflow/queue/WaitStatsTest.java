@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class WaitStatsTest {
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void emptyStats() {
+        final WaitStats stats = new WaitStats(4);
+
+        assertThat(stats.getCount()).isEqualTo(0L);
+        assertThat(stats.getMeanMillis()).isEqualTo(0L);
+        assertThat(stats.getPercentileMillis(0.95)).isEqualTo(0L);
+        assertThat(stats.getBuckets()).isEmpty();
+    }
+
+    @Test
+    void waitsAreBucketedBySeconds() {
+        assertThat(WaitStats.bucket(0L)).isEqualTo(0);
+        assertThat(WaitStats.bucket(999L)).isEqualTo(0);
+        assertThat(WaitStats.bucket(1000L)).isEqualTo(1);
+        assertThat(WaitStats.bucket(3999L)).isEqualTo(2);
+        assertThat(WaitStats.bucket(4000L)).isEqualTo(3);
+        assertThat(WaitStats.bucket(Long.MAX_VALUE)).isEqualTo(WaitStats.BUCKETS - 1);
+    }
+
+    @Test
+    void statsAreAggregated() {
+        final WaitStats stats = new WaitStats(4);
+
+        stats.record(500L, 0L);
+        stats.record(1500L, 0L);
+        stats.record(10_000L, 0L);
+        stats.record(-1L, 0L);
+
+        assertThat(stats.getCount()).isEqualTo(4L);
+        assertThat(stats.getTotalMillis()).isEqualTo(12_000L);
+        assertThat(stats.getMeanMillis()).isEqualTo(3000L);
+        assertThat(stats.getMaxMillis()).isEqualTo(10_000L);
+        assertThat(stats.getPercentileMillis(0.5)).isEqualTo(999L);
+        assertThat(stats.getPercentileMillis(0.75)).isEqualTo(1999L);
+        assertThat(stats.getPercentileMillis(1.0)).isEqualTo(10_000L);
+        assertThat(stats.getBuckets()).hasSize(3);
+    }
+
+    @Test
+    void seriesKeepsOnlyRecentHours() {
+        final WaitStats stats = new WaitStats(2);
+
+        stats.record(1000L, 0L);
+        stats.record(2000L, HOUR);
+        stats.record(3000L, 2 * HOUR + 1);
+        stats.record(4000L, 2 * HOUR + 2);
+
+        final JSONArray series = stats.toJSON(2 * HOUR + 2).getJSONArray("series");
+        assertThat(series).hasSize(2);
+        assertThat(series.getJSONObject(0).getLong("hour")).isEqualTo(HOUR);
+        assertThat(series.getJSONObject(1).getLong("count")).isEqualTo(2L);
+        assertThat(series.getJSONObject(1).getLong("totalMillis")).isEqualTo(7000L);
+    }
+
+    @Test
+    void statsWithoutSeries() {
+        final WaitStats stats = new WaitStats(0);
+        stats.record(1000L, HOUR);
+
+        final JSONObject json = stats.toJSON(HOUR);
+        assertThat(json.getLong("count")).isEqualTo(1L);
+        assertThat(json.has("series")).isFalse();
+    }
+
+    @Test
+    void formattedStatsAreParsed() {
+        final WaitStats stats = new WaitStats(4);
+        stats.record(1500L, HOUR);
+        stats.record(60_000L, 3 * HOUR);
+
+        final WaitStats parsed = new WaitStats(4);
+        parsed.parse(stats.format().split("\t", -1));
+
+        assertThat(parsed.format()).isEqualTo(stats.format());
+        assertThat(parsed.toJSON(3 * HOUR)).isEqualTo(stats.toJSON(3 * HOUR));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021-2026 jhnc-oss
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.jhnc.jenkins.plugins.workflow.queue;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.workflow.multibranch.WorkflowMultiBranchProject;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaitUntilUnblockedStepTest {
+    @Mock
+    WorkflowMultiBranchProject project;
+    @Mock
+    StepContext context;
+    @Mock
+    Run<?, ?> run;
+    @Mock
+    TaskListener listener;
+    private final BlockIndex index = new BlockIndex();
+    private final BlockWaiters waiters = new BlockWaiters();
+
+    @BeforeEach
+    void setUp() throws IOException, InterruptedException {
+        index.rebuild(Collections.emptyList());
+        lenient().when(project.getFullName()).thenReturn("project");
+        lenient().when(context.get(Run.class)).thenReturn(run);
+        lenient().when(context.get(TaskListener.class)).thenReturn(listener);
+        lenient().when(listener.getLogger()).thenReturn(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    void unblockedJobContinuesImmediately() throws Exception {
+        doReturn(createJob(false)).when(run).getParent();
+
+        final WaitUntilUnblockedStep.Execution execution = new WaitUntilUnblockedStep.Execution(context, waiters, index);
+
+        assertThat(execution.start()).isTrue();
+        assertThat(waiters.size()).isEqualTo(0);
+        verify(context).onSuccess(null);
+    }
+
+    @Test
+    void blockedJobWaitsUntilUnblocked() throws Exception {
+        final Job<?, ?> job = createJob(true);
+        doReturn(job).when(run).getParent();
+        index.updateJob(job);
+
+        final WaitUntilUnblockedStep.Execution execution = new WaitUntilUnblockedStep.Execution(context, waiters, index);
+
+        assertThat(execution.start()).isFalse();
+        assertThat(waiters.size()).isEqualTo(1);
+        waiters.recheck(index);
+        verify(context, never()).onSuccess(any());
+
+        when(job.getProperty(JobBlockedProperty.class)).thenReturn(null);
+        index.updateJob(job);
+        waiters.recheck(index);
+
+        assertThat(waiters.size()).isEqualTo(0);
+        verify(context).onSuccess(null);
+    }
+
+    @Test
+    void waitsWhileIndexIsNotReady() throws Exception {
+        doReturn(createJob(false)).when(run).getParent();
+        final BlockIndex notReady = new BlockIndex();
+
+        final WaitUntilUnblockedStep.Execution execution = new WaitUntilUnblockedStep.Execution(context, waiters, notReady);
+
+        assertThat(execution.start()).isFalse();
+        assertThat(execution.isBlocked(notReady)).isTrue();
+        assertThat(execution.isBlocked(index)).isFalse();
+    }
+
+    @Test
+    void failsInsideNode() throws Exception {
+        when(context.get(FilePath.class)).thenReturn(new FilePath(new File(".")));
+
+        final WaitUntilUnblockedStep.Execution execution = new WaitUntilUnblockedStep.Execution(context, waiters, index);
+
+        assertThrows(AbortException.class, execution::start);
+        assertThat(waiters.size()).isEqualTo(0);
+    }
+
+    @Test
+    void stopRemovesWaiter() throws Exception {
+        final Job<?, ?> job = createJob(true);
+        doReturn(job).when(run).getParent();
+        index.updateJob(job);
+
+        final WaitUntilUnblockedStep.Execution execution = new WaitUntilUnblockedStep.Execution(context, waiters, index);
+        execution.start();
+        final Exception cause = new InterruptedException();
+
+        execution.stop(cause);
+
+        assertThat(waiters.size()).isEqualTo(0);
+        verify(context).onFailure(cause);
+    }
+
+    @Test
+    void statusNamesJob() throws Exception {
+        final Job<?, ?> job = createJob(true);
+        when(job.getFullName()).thenReturn("project/x");
+        doReturn(job).when(run).getParent();
+        index.updateJob(job);
+
+        final WaitUntilUnblockedStep.Execution execution = new WaitUntilUnblockedStep.Execution(context, waiters, index);
+        execution.start();
+
+        assertThat(execution.getStatus()).contains("project/x");
+    }
+
+    private Job<?, ?> createJob(boolean blocked) {
+        final Job<?, ?> job = mock(Job.class);
+        lenient().when(job.getParent()).thenAnswer(x -> project);
+        lenient().when(job.getName()).thenReturn("x");
+        if (blocked) {
+            when(job.getProperty(JobBlockedProperty.class)).thenReturn(new JobBlockedProperty());
+        }
+        return job;
+    }
+}